@@ -1,10 +1,25 @@
 package proficiency.modid;
 
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.item.v1.ItemTooltipCallback;
+import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
+import proficiency.modid.client.ClientCurveSync;
+import proficiency.modid.client.ProficiencyHud;
+import proficiency.modid.client.ProficiencyTooltips;
 
+@Environment(EnvType.CLIENT)
 public class ProficiencyClient implements ClientModInitializer {
 	@Override
 	public void onInitializeClient() {
-		// This entrypoint is suitable for setting up client-specific logic, such as rendering.
+		Proficiency.LOGGER.info("Initializing Proficiency client");
+
+		// Tooltips and HUD read from the synced component through ClientProficiencyCache
+		ItemTooltipCallback.EVENT.register(ProficiencyTooltips::onTooltip);
+		HudRenderCallback.EVENT.register(ProficiencyHud::render);
+
+		// Thresholds shown come from the server while connected
+		ClientCurveSync.register();
 	}
-}
\ No newline at end of file
+}
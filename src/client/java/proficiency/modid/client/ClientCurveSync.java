@@ -0,0 +1,114 @@
+package proficiency.modid.client;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.MinecraftClient;
+import org.jetbrains.annotations.Nullable;
+import proficiency.modid.Proficiency;
+import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.network.CurveSyncPayload;
+import proficiency.modid.proficiency.ProficiencyCurves;
+import proficiency.modid.proficiency.ProficiencyData;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Client side of CurveSyncPayload. Payloads are cached on disk by content hash, so rejoining a server
+ * (or another server with the same config) only costs the hash packet.
+ */
+@Environment(EnvType.CLIENT)
+public final class ClientCurveSync {
+
+    private static final Path CACHE_DIR = FabricLoader.getInstance().getGameDir().resolve("proficiency-cache").resolve("curves");
+
+    private ClientCurveSync() {}
+
+    public static void register() {
+        ClientPlayNetworking.registerGlobalReceiver(CurveSyncPayload.HASH_ID, (client, handler, buf, responseSender) -> {
+            // The host of a singleplayer or LAN world shares ProficiencyCurves with its own server, which already
+            // uses these curves. Applying them would make the server read them back as its own after a config change
+            if (client.isIntegratedServerRunning()) return;
+
+            String hash = buf.readString();
+            CurveSyncPayload cached = readCache(hash);
+            if (cached != null) {
+                client.execute(() -> apply(client, cached));
+            } else {
+                responseSender.sendPacket(CurveSyncPayload.REQUEST_ID, PacketByteBufs.empty());
+            }
+        });
+
+        ClientPlayNetworking.registerGlobalReceiver(CurveSyncPayload.PAYLOAD_ID, (client, handler, buf, responseSender) -> {
+            byte[] bytes = buf.readByteArray();
+            CurveSyncPayload payload;
+            try {
+                payload = CurveSyncPayload.fromBytes(bytes);
+            } catch (IllegalArgumentException e) {
+                Proficiency.LOGGER.warn("Ignoring invalid proficiency curves from server", e);
+                return;
+            }
+            writeCache(CurveSyncPayload.hash(bytes), bytes);
+            client.execute(() -> apply(client, payload));
+        });
+
+        // Back to the local config's curves, e.g. for singleplayer
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> client.execute(() -> {
+            ProficiencyCurves.clearServerCurves();
+            ClientProficiencyCache.invalidate();
+        }));
+    }
+
+    private static void apply(MinecraftClient client, CurveSyncPayload payload) {
+        if (client.isIntegratedServerRunning()) return; // See the hash receiver
+
+        payload.apply();
+        ClientProficiencyCache.invalidate();
+
+        // Mining speed is predicted from the server's setting, which may have arrived after the player's levels
+        if (client.player != null) {
+            ProficiencyData data = ProficiencyComponents.getProficiency().getNullable(client.player);
+            if (data != null) data.markModifiersChanged();
+        }
+    }
+
+    @Nullable
+    private static CurveSyncPayload readCache(String hash) {
+        Path file = getCacheFile(hash);
+        if (file == null || !Files.exists(file)) return null;
+
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            // A damaged file is treated as a miss and replaced by the next payload
+            return hash.equals(CurveSyncPayload.hash(bytes)) ? CurveSyncPayload.fromBytes(bytes) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeCache(String hash, byte[] bytes) {
+        Path file = getCacheFile(hash);
+        if (file == null) return;
+
+        try {
+            Files.createDirectories(CACHE_DIR);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Proficiency.LOGGER.warn("Failed to cache proficiency curves", e);
+        }
+    }
+
+    // The hash comes from the server, so only plain hex is accepted as a file name
+    @Nullable
+    private static Path getCacheFile(String hash) {
+        return hash.matches("[0-9a-f]{64}") ? CACHE_DIR.resolve(hash + ".bin") : null;
+    }
+}
@@ -0,0 +1,142 @@
+package proficiency.modid.client;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.proficiency.ProficiencyCurves;
+import proficiency.modid.proficiency.ProficiencyData;
+import proficiency.modid.proficiency.ProficiencyLevel;
+import proficiency.modid.proficiency.ProgressionCurve;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Client-side cache of the local player's proficiency display text.
+ * Entries are built on first use and only thrown away when a new sync packet arrives,
+ * so tooltips and the HUD never rebuild text every frame.
+ */
+@Environment(EnvType.CLIENT)
+public final class ClientProficiencyCache {
+
+    // Level names, built once
+    private static final Text[] LEVEL_NAMES = new Text[ProficiencyLevel.values().length];
+
+    static {
+        for (ProficiencyLevel level : ProficiencyLevel.values()) {
+            LEVEL_NAMES[level.ordinal()] = level.getDisplayName().copy().formatted(Formatting.GOLD);
+        }
+    }
+
+    private static ProficiencyData data;
+    private static int revision = -1;
+
+    private static final Long2ObjectOpenHashMap<Text[]> ITEM_LINES = new Long2ObjectOpenHashMap<>();
+    private static final Map<String, Text> CATEGORY_LABELS = new HashMap<>();
+
+    private ClientProficiencyCache() {}
+
+    /**
+     * Gets the local player's proficiency data, clearing cached text if it has been synced since last call.
+     * @return The data, or null if not in a world
+     */
+    public static ProficiencyData getData() {
+        MinecraftClient client = MinecraftClient.getInstance();
+        ProficiencyData current = client.player != null ? ProficiencyComponents.getProficiency().getNullable(client.player) : null;
+
+        if (current != data || (current != null && current.getSyncRevision() != revision)) {
+            data = current;
+            revision = current != null ? current.getSyncRevision() : -1;
+            ITEM_LINES.clear();
+            CATEGORY_LABELS.clear();
+        }
+        return data;
+    }
+
+    /**
+     * Throws away all cached text, e.g. after the server's curves arrive.
+     */
+    public static void invalidate() {
+        data = null;
+        revision = -1;
+        ITEM_LINES.clear();
+        CATEGORY_LABELS.clear();
+    }
+
+    public static Text getLevelName(ProficiencyLevel level) {
+        return LEVEL_NAMES[level.ordinal()];
+    }
+
+    /**
+     * Gets the tooltip lines for a tracked item.
+     * @return The lines, or null if the item has no progress
+     */
+    public static Text[] getItemLines(long itemId, String category) {
+        ProficiencyData current = getData();
+        if (current == null) return null;
+
+        Text[] lines = ITEM_LINES.get(itemId);
+        if (lines == null) {
+            ProficiencyData.Progress progress = current.getItem(itemId);
+            if (progress == null) return null;
+
+            Text levelLine = Text.translatable("tooltip.proficiency.item_level", getLevelName(progress.level))
+                    .formatted(Formatting.GRAY);
+            long next = getNextThreshold(category, progress);
+            lines = next < 0
+                    ? new Text[]{levelLine}
+                    : new Text[]{levelLine, Text.translatable("tooltip.proficiency.item_progress", progress.points, next)
+                            .formatted(Formatting.DARK_GRAY)};
+            ITEM_LINES.put(itemId, lines);
+        }
+        return lines;
+    }
+
+    /**
+     * Gets the HUD label for a category, e.g. "Pickaxe: Basic".
+     */
+    public static Text getCategoryLabel(String category) {
+        ProficiencyData current = getData();
+        if (current == null) return Text.empty();
+
+        Text label = CATEGORY_LABELS.get(category);
+        if (label == null) {
+            label = Text.translatable("hud.proficiency.category",
+                    Text.translatable("item_type.proficiency." + category), getLevelName(current.getLevel(category)));
+            CATEGORY_LABELS.put(category, label);
+        }
+        return label;
+    }
+
+    /**
+     * Gets the progress fraction (0 to 1) towards the next level of a category.
+     */
+    public static float getCategoryProgress(String category) {
+        ProficiencyData current = getData();
+        ProficiencyData.Progress progress = current != null ? current.getType(category) : null;
+        if (progress == null) return 0.0f;
+
+        ProgressionCurve curve = ProficiencyCurves.forCategory(category);
+        int index = progress.level.ordinal();
+        if (index >= curve.size()) return 1.0f;
+
+        long previous = index > 0 ? curve.getThreshold(index - 1) : 0;
+        long next = curve.getThreshold(index);
+        return next > previous ? Math.min(1.0f, (float) (progress.points - previous) / (next - previous)) : 1.0f;
+    }
+
+    /**
+     * @return Points needed for the next level, or -1 if at max base level
+     */
+    private static long getNextThreshold(String category, ProficiencyData.Progress progress) {
+        ProgressionCurve curve = category != null
+                ? ProficiencyCurves.forCategory(category)
+                : ProficiencyCurves.forGroup(ProficiencyCurves.TOOLS);
+        int index = progress.level.ordinal();
+        return index < curve.size() ? curve.getThreshold(index) : -1;
+    }
+}
@@ -0,0 +1,37 @@
+package proficiency.modid.client;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.DrawContext;
+import proficiency.modid.config.ProficiencyConfig;
+import proficiency.modid.proficiency.ItemCategories;
+
+/**
+ * Draws the held item's category level and a progress bar in the top left corner.
+ */
+@Environment(EnvType.CLIENT)
+public final class ProficiencyHud {
+
+    private static final int X = 4;
+    private static final int Y = 4;
+    private static final int BAR_WIDTH = 80;
+    private static final int BAR_HEIGHT = 2;
+
+    private ProficiencyHud() {}
+
+    public static void render(DrawContext context, float tickDelta) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client.player == null || client.options.hudHidden || !ProficiencyConfig.get().showHud) return;
+
+        String category = ItemCategories.getCategory(client.player.getMainHandStack());
+        if (category == null || ClientProficiencyCache.getData() == null) return;
+
+        context.drawTextWithShadow(client.textRenderer, ClientProficiencyCache.getCategoryLabel(category), X, Y, 0xFFFFFF);
+
+        int barY = Y + client.textRenderer.fontHeight + 1;
+        int filled = (int) (BAR_WIDTH * ClientProficiencyCache.getCategoryProgress(category));
+        context.fill(X, barY, X + BAR_WIDTH, barY + BAR_HEIGHT, 0xFF333333);
+        context.fill(X, barY, X + filled, barY + BAR_HEIGHT, 0xFFFFAA00);
+    }
+}
@@ -0,0 +1,55 @@
+package proficiency.modid.client;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.item.TooltipContext;
+import net.minecraft.item.ItemStack;
+import net.minecraft.text.Text;
+import proficiency.modid.config.ProficiencyConfig;
+import proficiency.modid.proficiency.ItemCategories;
+import proficiency.modid.proficiency.ProficiencyData;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Adds each tracked item's level and progress to its tooltip.
+ * The last hovered stack is remembered, so hovering the same item only reads its NBT once per sync.
+ */
+@Environment(EnvType.CLIENT)
+public final class ProficiencyTooltips {
+
+    private static final Text[] NO_LINES = new Text[0];
+
+    private static ItemStack lastStack;
+    private static int lastRevision = -1;
+    private static Text[] lastLines = NO_LINES;
+
+    private ProficiencyTooltips() {}
+
+    public static void onTooltip(ItemStack stack, TooltipContext context, List<Text> lines) {
+        if (!ProficiencyConfig.get().showTooltips) return;
+
+        ProficiencyData data = ClientProficiencyCache.getData();
+        if (data == null) return;
+
+        if (stack != lastStack || data.getSyncRevision() != lastRevision) {
+            lastStack = stack;
+            lastRevision = data.getSyncRevision();
+            lastLines = resolveLines(stack);
+        }
+
+        Collections.addAll(lines, lastLines);
+    }
+
+    private static Text[] resolveLines(ItemStack stack) {
+        String category = ItemCategories.getCategory(stack);
+        if (category == null) return NO_LINES;
+
+        long itemId = ProficiencyData.getItemId(stack);
+        if (itemId == ProficiencyData.NO_ITEM_ID) return NO_LINES;
+
+        Text[] itemLines = ClientProficiencyCache.getItemLines(itemId, category);
+        return itemLines != null ? itemLines : NO_LINES;
+    }
+}
@@ -50,6 +50,24 @@ public class ProficiencyConfigScreen {
                 .build()
         );
 
+        // Tooltip toggle
+        general.addEntry(entryBuilder
+                .startBooleanToggle(Text.translatable("option.proficiency.show_tooltips"), config.showTooltips)
+                .setDefaultValue(true)
+                .setTooltip(Text.translatable("tooltip.proficiency.show_tooltips"))
+                .setSaveConsumer(value -> config.showTooltips = value)
+                .build()
+        );
+
+        // HUD toggle
+        general.addEntry(entryBuilder
+                .startBooleanToggle(Text.translatable("option.proficiency.show_hud"), config.showHud)
+                .setDefaultValue(true)
+                .setTooltip(Text.translatable("tooltip.proficiency.show_hud"))
+                .setSaveConsumer(value -> config.showHud = value)
+                .build()
+        );
+
         // Exponential equation description
         general.addEntry(entryBuilder
                 .startTextDescription(Text.translatable("text.proficiency.expo_equation"))
@@ -0,0 +1,276 @@
+package proficiency.modid.simulation;
+
+import com.mojang.authlib.GameProfile;
+import net.fabricmc.fabric.api.entity.FakePlayer;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.test.GameTest;
+import net.minecraft.test.TestContext;
+import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.event.ProficiencyEvents;
+import proficiency.modid.proficiency.BlockAwardTable;
+import proficiency.modid.proficiency.ItemCategories;
+import proficiency.modid.proficiency.ProficiencyData;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic load simulation of proficiency under synthetic players, run as a game test so it drives the real
+ * award paths: ProficiencyEvents.awardPoints for mining and weapon hits, and ProficiencyEvents.onArmourDamaged for
+ * armour hits, on fake server players. Syncs, storage, callbacks and notifications all run as they would in game.
+ * The simulated hours run inside a single server tick, so TickBudget never sees the load and nothing is deferred.
+ *
+ * Run with: ./gradlew runLoadSimulation -PsimArgs="players=500 hours=4 seed=1"
+ * Not part of the mod jar, it lives in the gametest source set.
+ *
+ * Reported per simulated hour:
+ *  - ms/tick: time spent in proficiency work per simulated tick (mean, p99, max)
+ *  - syncs: number of award syncs, and their sampled NBT payload size
+ *  - heap: used heap after a GC at the end of the hour
+ */
+public final class LoadSimulation implements FabricGameTest {
+
+    private static final int TICKS_PER_SECOND = 20;
+    private static final int TICKS_PER_HOUR = TICKS_PER_SECOND * 60 * 60;
+    private static final int AUTOSAVE_INTERVAL = TICKS_PER_SECOND * 60 * 5; // Vanilla autosaves every 5 minutes
+    private static final int ACTIVITY_LENGTH = TICKS_PER_SECOND * 60 * 3; // Players switch activity every ~3 minutes
+
+    // Chance per tick of each action while doing the matching activity
+    private static final double BLOCK_BREAK_CHANCE = 0.1; // ~2 blocks a second
+    private static final double HIT_CHANCE = 0.05; // ~1 landed hit a second
+    private static final double KILL_CHANCE = 0.1; // Per landed hit
+    private static final double DAMAGE_TAKEN_CHANCE = 0.03;
+    private static final double TOOL_REPLACED_CHANCE = 1.0 / (TICKS_PER_SECOND * 60 * 30); // New tool every ~30 minutes
+
+    private static final Item[] TOOLS = {Items.DIAMOND_PICKAXE, Items.DIAMOND_AXE, Items.DIAMOND_SHOVEL};
+    private static final String[] TOOL_TYPES = {ItemCategories.PICKAXE, ItemCategories.AXE, ItemCategories.SHOVEL};
+    // Mostly common blocks for each tool, and the occasional ore
+    private static final BlockState[] COMMON_BLOCKS = {
+            Blocks.STONE.getDefaultState(), Blocks.OAK_LOG.getDefaultState(), Blocks.DIRT.getDefaultState()
+    };
+    private static final BlockState ORE = Blocks.DIAMOND_ORE.getDefaultState();
+
+    private static final Item[] WEAPONS = {Items.DIAMOND_SWORD, Items.BOW, Items.DIAMOND_AXE};
+    private static final String[] WEAPON_TYPES = {ItemCategories.SWORD, ItemCategories.BOW, ItemCategories.AXE};
+
+    private static final EquipmentSlot[] ARMOUR_SLOTS = {
+            EquipmentSlot.HEAD, EquipmentSlot.CHEST, EquipmentSlot.LEGS, EquipmentSlot.FEET
+    };
+    private static final Item[] ARMOUR = {Items.IRON_HELMET, Items.IRON_CHESTPLATE, Items.IRON_LEGGINGS, Items.IRON_BOOTS};
+
+    private enum Activity { IDLE, MINING, FIGHTING }
+
+    /**
+     * A synthetic player and the items they're currently using. Armour is worn, the rest is kept aside,
+     * as awards take the stack directly.
+     */
+    private static final class SimPlayer {
+        final ServerPlayerEntity player;
+        final ItemStack[] tools = new ItemStack[TOOLS.length];
+        final ItemStack[] weapons = new ItemStack[WEAPONS.length];
+        Activity activity = Activity.IDLE;
+        int activityTicksLeft;
+
+        SimPlayer(ServerPlayerEntity player) {
+            this.player = player;
+        }
+    }
+
+    // Measure payload size for one in every N syncs, serializing all of them would dominate the results
+    private static final int SYNC_SAMPLE_RATE = 64;
+
+    private SplittableRandom random;
+    private SimPlayer[] players;
+
+    // Results for the current simulated hour
+    private final long[] tickNanos = new long[TICKS_PER_HOUR];
+    private long syncs;
+    private long syncSamples;
+    private long syncSampleBytes;
+    private long saveBytes;
+
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void simulateLoad(TestContext context) {
+        int playerCount = 200;
+        int hours = 1;
+        long seed = 42;
+
+        for (String arg : System.getProperty("proficiency.simArgs", "").trim().split("\\s+")) {
+            if (arg.isEmpty()) continue;
+
+            String[] parts = arg.split("=", 2);
+            if (parts.length != 2) throw new IllegalArgumentException("Expected key=value, got " + arg);
+
+            switch (parts[0]) {
+                case "players" -> playerCount = Integer.parseInt(parts[1]);
+                case "hours" -> hours = Integer.parseInt(parts[1]);
+                case "seed" -> seed = Long.parseLong(parts[1]);
+                default -> throw new IllegalArgumentException("Unknown argument " + parts[0]);
+            }
+        }
+
+        System.out.printf("Simulating %d players for %d hour(s), seed %d%n", playerCount, hours, seed);
+        setUp(context.getWorld(), playerCount, seed);
+        run(hours);
+        context.complete();
+    }
+
+    private void setUp(ServerWorld world, int playerCount, long seed) {
+        random = new SplittableRandom(seed);
+        players = new SimPlayer[playerCount];
+
+        for (int i = 0; i < playerCount; i++) {
+            // Fixed ids, so the same seed gives the same players
+            GameProfile profile = new GameProfile(new UUID(0x5157L, i), "sim_" + i);
+            SimPlayer sim = new SimPlayer(FakePlayer.get(world, profile));
+
+            for (int slot = 0; slot < TOOLS.length; slot++) {
+                sim.tools[slot] = new ItemStack(TOOLS[slot]);
+            }
+            for (int slot = 0; slot < WEAPONS.length; slot++) {
+                sim.weapons[slot] = new ItemStack(WEAPONS[slot]);
+            }
+            for (int slot = 0; slot < ARMOUR_SLOTS.length; slot++) {
+                sim.player.equipStack(ARMOUR_SLOTS[slot], new ItemStack(ARMOUR[slot]));
+            }
+            players[i] = sim;
+        }
+    }
+
+    private void run(int hours) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long startHeap = memory.getHeapMemoryUsage().getUsed();
+
+        System.out.println("hour | ms/tick mean | p99   | max    | syncs     | avg sync bytes | save MB | heap MB (+growth)");
+        for (int hour = 1; hour <= hours; hour++) {
+            resetHourStats();
+
+            for (int tick = 0; tick < TICKS_PER_HOUR; tick++) {
+                long start = System.nanoTime();
+                for (SimPlayer player : players) {
+                    tickPlayer(player);
+                }
+                if ((tick + 1) % AUTOSAVE_INTERVAL == 0) {
+                    autosave();
+                }
+                tickNanos[tick] = System.nanoTime() - start;
+            }
+
+            System.gc();
+            long heap = memory.getHeapMemoryUsage().getUsed();
+            printHour(hour, heap, heap - startHeap);
+        }
+    }
+
+    private void tickPlayer(SimPlayer sim) {
+        if (--sim.activityTicksLeft <= 0) {
+            sim.activity = Activity.values()[random.nextInt(Activity.values().length)];
+            sim.activityTicksLeft = ACTIVITY_LENGTH / 2 + random.nextInt(ACTIVITY_LENGTH);
+        }
+
+        if (random.nextDouble() < TOOL_REPLACED_CHANCE) {
+            // Tool broke or was swapped, new items grow the per-item history
+            int slot = random.nextInt(TOOLS.length);
+            sim.tools[slot] = new ItemStack(TOOLS[slot]);
+        }
+
+        switch (sim.activity) {
+            case MINING -> {
+                if (random.nextDouble() < BLOCK_BREAK_CHANCE) {
+                    int slot = random.nextInt(TOOLS.length);
+                    BlockState state = slot == 0 && random.nextDouble() < 0.05 ? ORE : COMMON_BLOCKS[slot];
+                    ItemStack stack = sim.tools[slot];
+                    award(sim, stack, TOOL_TYPES[slot], BlockAwardTable.getPoints(state, TOOL_TYPES[slot], stack));
+                }
+            }
+            case FIGHTING -> {
+                if (random.nextDouble() < HIT_CHANCE) {
+                    // Damage and kill bonuses are awarded together, as a melee attack or projectile hit is
+                    int slot = random.nextInt(WEAPONS.length);
+                    long points = 1 + random.nextInt(8);
+                    if (random.nextDouble() < KILL_CHANCE) points += 5;
+                    award(sim, sim.weapons[slot], WEAPON_TYPES[slot], points);
+                }
+                if (random.nextDouble() < DAMAGE_TAKEN_CHANCE) {
+                    ProficiencyEvents.onArmourDamaged(sim.player, 1 + random.nextInt(12));
+                    countSync(sim.player);
+                }
+            }
+            case IDLE -> {
+            }
+        }
+    }
+
+    private void award(SimPlayer sim, ItemStack stack, String category, long points) {
+        if (points <= 0) return;
+
+        ProficiencyEvents.awardPoints(sim.player, stack, category, points);
+        countSync(sim.player);
+    }
+
+    private void countSync(ServerPlayerEntity player) {
+        syncs++;
+        if (syncs % SYNC_SAMPLE_RATE == 0) {
+            syncSamples++;
+            syncSampleBytes += serializedSize(ProficiencyComponents.getProficiency().get(player));
+        }
+    }
+
+    private void autosave() {
+        for (SimPlayer sim : players) {
+            saveBytes += serializedSize(ProficiencyComponents.getProficiency().get(sim.player));
+        }
+    }
+
+    private static long serializedSize(ProficiencyData data) {
+        NbtCompound tag = new NbtCompound();
+        data.writeToNbt(tag);
+
+        try {
+            DataOutputStream out = new DataOutputStream(OutputStream.nullOutputStream());
+            NbtIo.write(tag, out);
+            return out.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void resetHourStats() {
+        syncs = 0;
+        syncSamples = 0;
+        syncSampleBytes = 0;
+        saveBytes = 0;
+    }
+
+    private void printHour(int hour, long heap, long heapGrowth) {
+        long[] sorted = tickNanos.clone();
+        Arrays.sort(sorted);
+
+        double mean = Arrays.stream(sorted).average().orElse(0) / 1_000_000.0;
+        double p99 = sorted[(int) (sorted.length * 0.99)] / 1_000_000.0;
+        double max = sorted[sorted.length - 1] / 1_000_000.0;
+        long avgSyncBytes = syncSamples > 0 ? syncSampleBytes / syncSamples : 0;
+
+        System.out.printf("%4d | %12.4f | %5.3f | %6.3f | %9d | %14d | %7.1f | %7.1f (%+.1f)%n",
+                hour, mean, p99, max, syncs, avgSyncBytes,
+                saveBytes / (1024.0 * 1024.0), heap / (1024.0 * 1024.0), heapGrowth / (1024.0 * 1024.0));
+    }
+}
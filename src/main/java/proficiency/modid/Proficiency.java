@@ -8,8 +8,7 @@ import org.slf4j.LoggerFactory;
 
 import proficiency.modid.commands.ModArgumentTypes;
 import proficiency.modid.commands.ProficiencyCommands;
-import proficiency.modid.config.ProficiencyConfig;
-import proficiency.modid.event.ProficiencyEvents;
+import proficiency.modid.storage.ProficiencyStorageManager;
 
 public class Proficiency implements DedicatedServerModInitializer {
     public static final String MOD_ID = "proficiency";
@@ -24,9 +23,8 @@ public class Proficiency implements DedicatedServerModInitializer {
             ProficiencyCommands.register(dispatcher);
         });
 
-        // Register all custom components
-        ProficiencyConfig.load();
-        ProficiencyEvents.register();
+        // Gameplay events are registered by ProficiencyCommon, as they also run on integrated servers
+        ProficiencyStorageManager.register();
 
         LOGGER.info("Proficiency mod initialized on server!");
     }
@@ -0,0 +1,28 @@
+package proficiency.modid;
+
+import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+
+import proficiency.modid.config.ProficiencyConfig;
+import proficiency.modid.event.ProficiencyEvents;
+import proficiency.modid.network.CurveSync;
+import proficiency.modid.proficiency.ItemIdAllocator;
+
+/**
+ * Runs on both the dedicated server and the client. The award mixins run on integrated servers (singleplayer and LAN)
+ * too, so the award events and everything they depend on are set up here rather than in the dedicated server initializer.
+ */
+public class ProficiencyCommon implements ModInitializer {
+
+    @Override
+    public void onInitialize() {
+        // Item tracking ids are allocated per world
+        ServerLifecycleEvents.SERVER_STARTED.register(ItemIdAllocator::load);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> ItemIdAllocator.unload());
+
+        ProficiencyConfig.load();
+        ProficiencyEvents.register();
+        // LAN guests get the host's curves, the host itself already uses them, see ClientCurveSync
+        CurveSync.register();
+    }
+}
@@ -0,0 +1,81 @@
+package proficiency.modid.api;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.event.ProficiencyEvents;
+import proficiency.modid.proficiency.ItemCategories;
+import proficiency.modid.proficiency.ProficiencyData;
+import proficiency.modid.proficiency.ProficiencyLevel;
+
+/**
+ * Stable entry point for other mods. Awards go through the same path as the mod's own awards,
+ * so levels, special unlocks, notifications, sync and storage are all kept up to date.
+ * Other mods shouldn't change ProficiencyData or its Progress entries directly.
+ *
+ * Award methods are server thread only. Queries also work on the client, showing the last synced values.
+ */
+public final class ProficiencyApi {
+
+    /**
+     * A read-only snapshot of one category's or item's progress.
+     */
+    public record Standing(long points, ProficiencyLevel level) {
+        public static final Standing NONE = new Standing(0, ProficiencyLevel.UNTRAINED);
+    }
+
+    private ProficiencyApi() {}
+
+    /**
+     * Adds points to a category, e.g. "pickaxe", without crediting any item.
+     * @throws IllegalArgumentException If the category doesn't exist
+     */
+    public static void addPoints(ServerPlayerEntity player, String category, long points) {
+        ProficiencyEvents.awardCategoryPoints(player, requireCategory(category), points);
+    }
+
+    /**
+     * Adds points to an item and its category, as if the item had been used.
+     * @return false if the item doesn't belong to a proficiency category
+     */
+    public static boolean addPoints(ServerPlayerEntity player, ItemStack stack, long points) {
+        String category = ItemCategories.getCategory(stack);
+        if (category == null) return false;
+
+        ProficiencyEvents.awardPoints(player, stack, category, points);
+        return true;
+    }
+
+    /**
+     * Gets a player's progress in a category.
+     * @throws IllegalArgumentException If the category doesn't exist
+     */
+    public static Standing query(PlayerEntity player, String category) {
+        String constant = requireCategory(category);
+
+        ProficiencyData data = ProficiencyComponents.getProficiency().get(player);
+        ProficiencyLevel level = data.getLevel(constant); // Brings decay up to date first
+        ProficiencyData.Progress progress = data.getType(constant);
+        return progress != null ? new Standing(progress.points, level) : Standing.NONE;
+    }
+
+    /**
+     * Gets a player's progress with a specific item. Never assigns the item a tracking id.
+     */
+    public static Standing query(PlayerEntity player, ItemStack stack) {
+        long itemId = ProficiencyData.getItemId(stack);
+        if (itemId == ProficiencyData.NO_ITEM_ID) return Standing.NONE;
+
+        ProficiencyData data = ProficiencyComponents.getProficiency().get(player);
+        ProficiencyLevel level = data.getLevel(Long.toString(itemId));
+        ProficiencyData.Progress progress = data.getItem(itemId);
+        return progress != null ? new Standing(progress.points, level) : Standing.NONE;
+    }
+
+    private static String requireCategory(String category) {
+        String constant = ItemCategories.byName(category);
+        if (constant == null) throw new IllegalArgumentException("Unknown proficiency category: " + category);
+        return constant;
+    }
+}
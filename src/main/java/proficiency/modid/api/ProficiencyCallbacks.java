@@ -0,0 +1,68 @@
+package proficiency.modid.api;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+import net.minecraft.server.network.ServerPlayerEntity;
+import proficiency.modid.proficiency.ProficiencyLevel;
+
+/**
+ * Events for other mods to react to proficiency changes. Server side only, fired on the server thread.
+ *
+ * Listeners are called while the change is being applied, before it's synced to the client.
+ * They may read the player's proficiency, but should award points through ProficiencyApi rather than
+ * from inside a listener where possible, as that fires these events again.
+ */
+public final class ProficiencyCallbacks {
+
+    @FunctionalInterface
+    public interface PointsAwarded {
+        /**
+         * Called after points are added to a category.
+         * @param category Category constant, e.g. ItemCategories.PICKAXE
+         * @param points Points just added
+         * @param total The category's points after the award
+         */
+        void onPointsAwarded(ServerPlayerEntity player, String category, long points, long total);
+    }
+
+    @FunctionalInterface
+    public interface LevelChanged {
+        /**
+         * Called after a category's level changes: from points, special unlocks, decay or commands.
+         */
+        void onLevelChanged(ServerPlayerEntity player, String category, ProficiencyLevel oldLevel, ProficiencyLevel newLevel);
+    }
+
+    // Returned by invoker() while nothing is registered, so callers can skip the call entirely
+    private static final PointsAwarded NO_POINTS_AWARDED_LISTENERS = (player, category, points, total) -> {};
+    private static final LevelChanged NO_LEVEL_CHANGED_LISTENERS = (player, category, oldLevel, newLevel) -> {};
+
+    public static final Event<PointsAwarded> POINTS_AWARDED = EventFactory.createArrayBacked(PointsAwarded.class,
+            NO_POINTS_AWARDED_LISTENERS,
+            listeners -> (player, category, points, total) -> {
+                for (PointsAwarded listener : listeners) {
+                    listener.onPointsAwarded(player, category, points, total);
+                }
+            });
+
+    public static final Event<LevelChanged> LEVEL_CHANGED = EventFactory.createArrayBacked(LevelChanged.class,
+            NO_LEVEL_CHANGED_LISTENERS,
+            listeners -> (player, category, oldLevel, newLevel) -> {
+                for (LevelChanged listener : listeners) {
+                    listener.onLevelChanged(player, category, oldLevel, newLevel);
+                }
+            });
+
+    private ProficiencyCallbacks() {}
+
+    /**
+     * Used on hot paths to skip preparing arguments when nothing is listening.
+     */
+    public static boolean hasPointsAwardedListeners() {
+        return POINTS_AWARDED.invoker() != NO_POINTS_AWARDED_LISTENERS;
+    }
+
+    public static boolean hasLevelChangedListeners() {
+        return LEVEL_CHANGED.invoker() != NO_LEVEL_CHANGED_LISTENERS;
+    }
+}
@@ -6,24 +6,38 @@ import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import net.minecraft.command.argument.EntityArgumentType;
 import net.minecraft.command.argument.IdentifierArgumentType;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
-import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
 import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.proficiency.ItemCategories;
+import proficiency.modid.proficiency.ProficiencyCurves;
 import proficiency.modid.proficiency.ProficiencyData;
 import proficiency.modid.proficiency.ProficiencyLevel;
+import proficiency.modid.proficiency.ProgressionCurve;
+import proficiency.modid.storage.ProficiencyStorageManager;
 import static proficiency.modid.commands.ItemStackArgumentType.getItemStack;
 
 
 import java.util.Collection;
-import java.util.UUID;
 
+/**
+ * /proficiency commands.
+ * Item subcommands act on the target's own copy of the item (held, then inventory), never on the parsed argument.
+ * Get and stats commands never assign a tracking id, set commands assign one to the target's stack if needed.
+ */
 public class ProficiencyCommands {
     public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
         dispatcher.register(CommandManager.literal("proficiency")
+                .then(CommandManager.literal("storage")
+                        .requires(source -> source.hasPermissionLevel(2))
+                        .executes(ProficiencyCommands::showStorageStats)
+                )
                 .then(CommandManager.literal("get")
                         .then(CommandManager.argument("targets", EntityArgumentType.players())
                                 .then(CommandManager.literal("category")
@@ -38,6 +52,15 @@ public class ProficiencyCommands {
                                 )
                         )
                 )
+                .then(CommandManager.literal("stats")
+                        .then(CommandManager.argument("targets", EntityArgumentType.players())
+                                .then(CommandManager.literal("item")
+                                        .then(CommandManager.argument("item", ItemStackArgumentType.itemStack())
+                                                .executes(ProficiencyCommands::getItemStats)
+                                        )
+                                )
+                        )
+                )
                 .then(CommandManager.literal("set")
                         .requires(source -> source.hasPermissionLevel(2))
                         .then(CommandManager.argument("targets", EntityArgumentType.players())
@@ -70,6 +93,13 @@ public class ProficiencyCommands {
                                                 )
                                         )
                                 )
+                                .then(CommandManager.literal("next")
+                                        .then(CommandManager.literal("category")
+                                                .then(CommandManager.argument("category", IdentifierArgumentType.identifier())
+                                                        .executes(ProficiencyCommands::showNextLevelPoints)
+                                                )
+                                        )
+                                )
                                 .then(CommandManager.literal("set")
                                         .requires(source -> source.hasPermissionLevel(2))
                                         .then(CommandManager.literal("category")
@@ -93,7 +123,7 @@ public class ProficiencyCommands {
 
     private static int getCategoryLevel(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
         Collection<ServerPlayerEntity> targets = EntityArgumentType.getPlayers(context, "targets");
-        String category = IdentifierArgumentType.getIdentifier(context, "category").toString();
+        String category = getCategory(context);
 
         for (ServerPlayerEntity target : targets) {
             ProficiencyData data = ProficiencyComponents.getProficiency().get(target);
@@ -112,12 +142,18 @@ public class ProficiencyCommands {
 
     private static int getItemLevel(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
         Collection<ServerPlayerEntity> targets = EntityArgumentType.getPlayers(context, "targets");
-        ItemStack stack = getItemStack(context, "item");
-        String itemUuid = ProficiencyData.ensureItemUuid(stack).toString();
+        Item item = getItemStack(context, "item").getItem();
+        int found = 0;
 
         for (ServerPlayerEntity target : targets) {
-            ProficiencyData data = ProficiencyComponents.getProficiency().get(target);
-            ProficiencyLevel level = data.getLevel(itemUuid);
+            ItemStack stack = findStack(target, item);
+            if (stack == null) {
+                sendNotFound(context, target, item);
+                continue;
+            }
+
+            ProficiencyData.Progress progress = getItemProgress(target, stack);
+            ProficiencyLevel level = progress != null ? progress.level : ProficiencyLevel.UNTRAINED;
             context.getSource().sendFeedback(() ->
                             Text.translatable("commands.proficiency.get.item",
                                     target.getDisplayName(),
@@ -126,21 +162,25 @@ public class ProficiencyCommands {
                             ),
                     false
             );
+            found++;
         }
-        return targets.size();
+        return found;
     }
 
     private static int setCategoryLevel(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
         Collection<ServerPlayerEntity> targets = EntityArgumentType.getPlayers(context, "targets");
-        String category = IdentifierArgumentType.getIdentifier(context, "category").toString();
+        String category = getCategory(context);
         long levelValue = LongArgumentType.getLong(context, "level");
         ProficiencyLevel level = ProficiencyLevel.values()[(int) Math.min(levelValue, ProficiencyLevel.values().length - 1)];
 
         for (ServerPlayerEntity target : targets) {
             ProficiencyData data = ProficiencyComponents.getProficiency().get(target);
             ProficiencyData.Progress progress = data.getOrCreateType(category);
+            ProficiencyLevel oldLevel = progress.level;
             progress.level = level;
-            ProficiencyComponents.getProficiency().sync(target);
+            progress.markNotified();
+            data.markTypeLevelChanged(category, oldLevel);
+            ProficiencyComponents.sync(target);
 
             context.getSource().sendFeedback(() ->
                             Text.translatable("commands.proficiency.set.category",
@@ -156,16 +196,23 @@ public class ProficiencyCommands {
 
     private static int setItemLevel(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
         Collection<ServerPlayerEntity> targets = EntityArgumentType.getPlayers(context, "targets");
-        ItemStack stack = getItemStack(context, "item");
+        Item item = getItemStack(context, "item").getItem();
         long levelValue = LongArgumentType.getLong(context, "level");
         ProficiencyLevel level = ProficiencyLevel.values()[(int) Math.min(levelValue, ProficiencyLevel.values().length - 1)];
-        String itemUuid = ProficiencyData.ensureItemUuid(stack).toString();
+        int found = 0;
 
         for (ServerPlayerEntity target : targets) {
+            ItemStack stack = findStack(target, item);
+            if (stack == null) {
+                sendNotFound(context, target, item);
+                continue;
+            }
+
             ProficiencyData data = ProficiencyComponents.getProficiency().get(target);
-            ProficiencyData.Progress progress = data.getOrCreateItem(UUID.fromString(itemUuid));
+            ProficiencyData.Progress progress = data.getOrCreateItem(ProficiencyData.ensureItemId(stack));
             progress.level = level;
-            ProficiencyComponents.getProficiency().sync(target);
+            progress.markNotified();
+            ProficiencyComponents.sync(target);
 
             context.getSource().sendFeedback(() ->
                             Text.translatable("commands.proficiency.set.item",
@@ -175,13 +222,14 @@ public class ProficiencyCommands {
                             ),
                     true
             );
+            found++;
         }
-        return targets.size();
+        return found;
     }
 
     private static int getCategoryPoints(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
         Collection<ServerPlayerEntity> targets = EntityArgumentType.getPlayers(context, "targets");
-        String category = IdentifierArgumentType.getIdentifier(context, "category").toString();
+        String category = getCategory(context);
 
         for (ServerPlayerEntity target : targets) {
             ProficiencyData data = ProficiencyComponents.getProficiency().get(target);
@@ -202,14 +250,18 @@ public class ProficiencyCommands {
 
     private static int getItemPoints(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
         Collection<ServerPlayerEntity> targets = EntityArgumentType.getPlayers(context, "targets");
-        ItemStack stack = getItemStack(context, "item");
-        String itemUuid = ProficiencyData.ensureItemUuid(stack).toString();
+        Item item = getItemStack(context, "item").getItem();
+        int found = 0;
 
         for (ServerPlayerEntity target : targets) {
-            ProficiencyData data = ProficiencyComponents.getProficiency().get(target);
-            ProficiencyData.Progress progress = data.getItem(UUID.fromString(itemUuid));
-            long points = progress != null ? progress.points : 0;
+            ItemStack stack = findStack(target, item);
+            if (stack == null) {
+                sendNotFound(context, target, item);
+                continue;
+            }
 
+            ProficiencyData.Progress progress = getItemProgress(target, stack);
+            long points = progress != null ? progress.points : 0;
             context.getSource().sendFeedback(() ->
                             Text.translatable("commands.proficiency.points.get.item",
                                     target.getDisplayName(),
@@ -218,21 +270,25 @@ public class ProficiencyCommands {
                             ),
                     false
             );
+            found++;
         }
-        return targets.size();
+        return found;
     }
 
     private static int setCategoryPoints(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
         Collection<ServerPlayerEntity> targets = EntityArgumentType.getPlayers(context, "targets");
-        String category = IdentifierArgumentType.getIdentifier(context, "category").toString();
+        String category = getCategory(context);
         long points = LongArgumentType.getLong(context, "points");
 
         for (ServerPlayerEntity target : targets) {
             ProficiencyData data = ProficiencyComponents.getProficiency().get(target);
             ProficiencyData.Progress progress = data.getOrCreateType(category);
+            ProficiencyLevel oldLevel = progress.level;
             progress.points = points;
-            progress.updateLevel(data.getPublicThresholdsForCategory(category));
-            ProficiencyComponents.getProficiency().sync(target);
+            progress.updateLevel(ProficiencyCurves.forCategory(category));
+            progress.markNotified();
+            data.markTypeLevelChanged(category, oldLevel);
+            ProficiencyComponents.sync(target);
 
             context.getSource().sendFeedback(() ->
                             Text.translatable("commands.proficiency.points.set.category",
@@ -248,15 +304,23 @@ public class ProficiencyCommands {
 
     private static int setItemPoints(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
         Collection<ServerPlayerEntity> targets = EntityArgumentType.getPlayers(context, "targets");
-        ItemStack stack = getItemStack(context, "item");
+        Item item = getItemStack(context, "item").getItem();
         long points = LongArgumentType.getLong(context, "points");
-        String itemUuid = ProficiencyData.ensureItemUuid(stack).toString();
+        int found = 0;
 
         for (ServerPlayerEntity target : targets) {
+            ItemStack stack = findStack(target, item);
+            if (stack == null) {
+                sendNotFound(context, target, item);
+                continue;
+            }
+
             ProficiencyData data = ProficiencyComponents.getProficiency().get(target);
-            ProficiencyData.Progress progress = data.getOrCreateItem(UUID.fromString(itemUuid));
+            ProficiencyData.Progress progress = data.getOrCreateItem(ProficiencyData.ensureItemId(stack));
             progress.points = points;
-            progress.updateLevel(data.getPublicThresholdsForCategory("tools"));            ProficiencyComponents.getProficiency().sync(target);
+            progress.updateLevel(getItemCurve(stack));
+            progress.markNotified();
+            ProficiencyComponents.sync(target);
 
             context.getSource().sendFeedback(() ->
                             Text.translatable("commands.proficiency.points.set.item",
@@ -266,13 +330,161 @@ public class ProficiencyCommands {
                             ),
                     true
             );
+            found++;
+        }
+        return found;
+    }
+
+    private static int getItemStats(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        Collection<ServerPlayerEntity> targets = EntityArgumentType.getPlayers(context, "targets");
+        Item item = getItemStack(context, "item").getItem();
+        Text itemName = item.getName();
+        int found = 0;
+
+        for (ServerPlayerEntity target : targets) {
+            ProficiencyData data = ProficiencyComponents.getProficiency().get(target);
+            PlayerInventory inventory = target.getInventory();
+            int carried = 0;
+            int tracked = 0;
+            long totalPoints = 0;
+            ProficiencyLevel best = ProficiencyLevel.UNTRAINED;
+
+            // One pass over the inventory, untracked stacks are counted but never given an id
+            for (int i = 0; i < inventory.size(); i++) {
+                ItemStack stack = inventory.getStack(i);
+                if (!stack.isOf(item)) continue;
+                carried++;
+
+                long id = ProficiencyData.getOrMigrateItemId(stack);
+                ProficiencyData.Progress progress = id != ProficiencyData.NO_ITEM_ID ? data.getItem(id) : null;
+                if (progress == null) continue;
+
+                tracked++;
+                totalPoints += progress.points;
+                if (progress.level.ordinal() > best.ordinal()) best = progress.level;
+            }
+
+            if (carried == 0) {
+                sendNotFound(context, target, item);
+                continue;
+            }
+
+            int carriedCount = carried;
+            int trackedCount = tracked;
+            long points = totalPoints;
+            ProficiencyLevel bestLevel = best;
+            ProficiencyData.Progress typeProgress = data.getItemType(item);
+            ProficiencyLevel typeLevel = typeProgress != null ? typeProgress.level : ProficiencyLevel.UNTRAINED;
+            long typePoints = typeProgress != null ? typeProgress.points : 0;
+            context.getSource().sendFeedback(() ->
+                            Text.translatable("commands.proficiency.stats.item",
+                                    target.getDisplayName(),
+                                    itemName,
+                                    carriedCount,
+                                    trackedCount,
+                                    points,
+                                    bestLevel.name().toLowerCase(),
+                                    typeLevel.name().toLowerCase(),
+                                    typePoints
+                            ),
+                    false
+            );
+            found++;
+        }
+        return found;
+    }
+
+    private static int showNextLevelPoints(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        Collection<ServerPlayerEntity> targets = EntityArgumentType.getPlayers(context, "targets");
+        String category = getCategory(context);
+
+        for (ServerPlayerEntity target : targets) {
+            ProficiencyData data = ProficiencyComponents.getProficiency().get(target);
+            ProficiencyData.Progress progress = data.getType(category);
+            long points = progress != null ? progress.points : 0;
+            long needed = ProficiencyCurves.forCategory(category).pointsToNextLevel(points);
+
+            context.getSource().sendFeedback(() -> needed < 0
+                            ? Text.translatable("commands.proficiency.points.next.max", target.getDisplayName(), category)
+                            : Text.translatable("commands.proficiency.points.next.category",
+                                    target.getDisplayName(),
+                                    category,
+                                    needed
+                            ),
+                    false
+            );
         }
         return targets.size();
     }
 
-    private static int showNextLevelPoints(CommandContext<ServerCommandSource> context) {
-        // Implementation for showing points needed for next level
-        // This would be similar to the other methods but would calculate points to next level
-        return 1;
+    private static int showStorageStats(CommandContext<ServerCommandSource> context) {
+        ProficiencyStorageManager.Stats stats = ProficiencyStorageManager.getStats();
+        if (stats == null) {
+            context.getSource().sendFeedback(() -> Text.translatable("commands.proficiency.storage.disabled"), false);
+            return 0;
+        }
+
+        context.getSource().sendFeedback(() ->
+                        Text.translatable("commands.proficiency.storage.stats",
+                                stats.dirty(),
+                                stats.peakDirty(),
+                                stats.pendingWrites(),
+                                stats.written(),
+                                stats.failed(),
+                                stats.forcedFlushes()
+                        ),
+                false
+        );
+        return stats.dirty();
+    }
+
+    /**
+     * Gets the category argument as a category name, e.g. "pickaxe" rather than "minecraft:pickaxe".
+     */
+    private static String getCategory(CommandContext<ServerCommandSource> context) {
+        return IdentifierArgumentType.getIdentifier(context, "category").getPath();
+    }
+
+    /**
+     * Finds the target's copy of an item: a matching held stack, otherwise the first tracked stack
+     * of that item in their inventory, otherwise the first untracked one.
+     * @return The stack, or null if the target doesn't have the item
+     */
+    @Nullable
+    private static ItemStack findStack(ServerPlayerEntity target, Item item) {
+        ItemStack held = target.getMainHandStack();
+        if (held.isOf(item)) return held;
+        ItemStack offHand = target.getOffHandStack();
+        if (offHand.isOf(item)) return offHand;
+
+        PlayerInventory inventory = target.getInventory();
+        ItemStack untracked = null;
+        for (int i = 0; i < inventory.size(); i++) {
+            ItemStack stack = inventory.getStack(i);
+            if (!stack.isOf(item)) continue;
+
+            if (ProficiencyData.getOrMigrateItemId(stack) != ProficiencyData.NO_ITEM_ID) return stack;
+            if (untracked == null) untracked = stack;
+        }
+        return untracked;
+    }
+
+    /**
+     * Gets the target's progress for a stack, without assigning it an id.
+     * @return The stack's progress, or null if it has never been tracked
+     */
+    @Nullable
+    private static ProficiencyData.Progress getItemProgress(ServerPlayerEntity target, ItemStack stack) {
+        long id = ProficiencyData.getOrMigrateItemId(stack);
+        return id != ProficiencyData.NO_ITEM_ID ? ProficiencyComponents.getProficiency().get(target).getItem(id) : null;
+    }
+
+    private static ProgressionCurve getItemCurve(ItemStack stack) {
+        String category = ItemCategories.getCategory(stack);
+        return category != null ? ProficiencyCurves.forCategory(category) : ProficiencyCurves.forGroup(ProficiencyCurves.TOOLS);
+    }
+
+    private static void sendNotFound(CommandContext<ServerCommandSource> context, ServerPlayerEntity target, Item item) {
+        context.getSource().sendError(Text.translatable("commands.proficiency.item.not_found", target.getDisplayName(), item.getName()));
     }
-}
\ No newline at end of file
+}
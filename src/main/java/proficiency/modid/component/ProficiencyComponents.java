@@ -5,9 +5,14 @@ import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
 import dev.onyxstudios.cca.api.v3.entity.EntityComponentFactoryRegistry;
 import dev.onyxstudios.cca.api.v3.entity.EntityComponentInitializer;
 import dev.onyxstudios.cca.api.v3.entity.RespawnCopyStrategy;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
 import proficiency.modid.Proficiency;
+import proficiency.modid.event.DeferredWork;
+import proficiency.modid.event.ProficiencyEffects;
+import proficiency.modid.event.ScoreboardMirror;
 import proficiency.modid.proficiency.ProficiencyData;
+import proficiency.modid.storage.ProficiencyStorageManager;
 
 public final class ProficiencyComponents implements EntityComponentInitializer {
     public static final ComponentKey<ProficiencyData> PROFICIENCY =
@@ -20,11 +25,27 @@ public final class ProficiencyComponents implements EntityComponentInitializer {
         return PROFICIENCY;
     }
 
+    /**
+     * Syncs a player's proficiency data to their client, and marks it to be written to external storage
+     * and mirrored to the scoreboard.
+     * All changes to proficiency data should go through here once the change is complete.
+     * While the server is overloaded the client sync is held back, see DeferredWork, unless a category level changed:
+     * the client works out mining speed from its synced levels, so those are always sent straight away.
+     */
+    public static void sync(ServerPlayerEntity player) {
+        ProficiencyData data = PROFICIENCY.get(player);
+        data.applyDecay(); // Before effects are refreshed, so dropped category levels reach the attributes too
+        boolean modifiersChanged = ProficiencyEffects.refresh(player, data);
+        if (modifiersChanged || !DeferredWork.deferSync(player)) PROFICIENCY.sync(player);
+        ProficiencyStorageManager.markDirty(player);
+        ScoreboardMirror.markDirty(player);
+    }
+
     @Override
     public void registerEntityComponentFactories(EntityComponentFactoryRegistry registry) {
         registry.registerForPlayers(
                 PROFICIENCY,
-                player -> new ProficiencyData(),
+                ProficiencyData::new,
                 RespawnCopyStrategy.ALWAYS_COPY
         );
     }
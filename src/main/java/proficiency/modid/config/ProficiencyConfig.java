@@ -3,6 +3,8 @@ package proficiency.modid.config;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import proficiency.modid.Proficiency;
+import proficiency.modid.proficiency.ProficiencyCurves;
+import proficiency.modid.proficiency.ProgressionCurve;
 
 import java.io.File;
 import java.io.FileReader;
@@ -24,6 +26,92 @@ public class ProficiencyConfig {
     // Increase Proficiency levels exponentially:
     public boolean useExponentialScaling = false;
 
+    // Progression Curve
+    // TABLE uses each category's thresholds below, the other curve types use the formula settings for every category
+    // useExponentialScaling = true overrides this with EXPONENTIAL
+    public ProgressionCurve.Type curveType = ProgressionCurve.Type.TABLE;
+    public double linearBase = 100.0; // LINEAR: points for the first level
+    public double linearStep = 1000.0; // LINEAR: extra points for each following level
+    public double polyBase = 100.0; // POLYNOMIAL: polyBase * (level ^ polyPower)
+    public double polyPower = 2.0;
+    public int[] piecewiseStartLevels = {0, 5, 10}; // PIECEWISE: level each segment starts at
+    public long[] piecewiseIncrements = {100, 500, 2000}; // PIECEWISE: points per level within each segment
+
+    // Client Display
+    public boolean showTooltips = true; // Show item level and progress in item tooltips
+    public boolean showHud = true; // Show the held item category's level and progress bar
+
+    // Mining Awards
+    // Points per block = 1 + (hardness * miningPointsPerHardness), capped at miningMaxHardnessPoints, plus any ore bonus
+    public double miningPointsPerHardness = 0.5;
+    public int miningMaxHardnessPoints = 10;
+    public int miningOrePoints = 4; // Coal, iron, gold, copper, lapis and redstone ores
+    public int miningRareOrePoints = 10; // Diamond and emerald ores, ancient debris
+
+    // Combat Awards
+    // Points are only awarded for damage actually dealt, once per target every combatTargetCooldownTicks
+    public double combatPointsPerDamage = 1.0;
+    public int combatMaxHitPoints = 10;
+    public double combatKillPointsPerHealth = 0.25; // e.g. zombie (20 health) = 5 points, wither (300 health) = 75 points
+    public int combatCritPoints = 1; // Only added to hits that earned damage points
+    public int combatTargetCooldownTicks = 10;
+
+    // Proficiency Effects
+    // Bonuses granted per category level, recalculated only when a category levels up
+    public boolean enableEffects = true;
+    public double miningSpeedPerLevel = 0.02; // +2% mining speed per level of the held tool's category
+    public double attackDamagePerLevel = 0.05; // Attack damage per sword level, only added to attacks made with a sword
+    public double armorToughnessPerLevel = 0.1; // Armour toughness per level, averaged across all armour pieces
+
+    // Skill Decay
+    // Points slowly decay for categories and items that go unused. Worked out from timestamps when an entry is awarded,
+    // read or synced, so there's no per-tick cost and nothing runs while a player's data sits unused
+    public boolean enableDecay = false;
+    public double decayGraceDays = 3.0; // Days without use before decay starts
+    public double decayPercentPerDay = 2.0; // % of points lost per full day after the grace period
+
+    // Duplicate Items
+    // Stacks copied with pick-block, dupes or /give can share one item's id and pool its progress
+    // Online players' inventories and ender chests are scanned a few players per tick, other containers aren't.
+    // Copies are handled by duplicatePolicy: LOG, RESET or COPY
+    public boolean enableDuplicateScan = true;
+    public DuplicatePolicy duplicatePolicy = DuplicatePolicy.LOG;
+    public int duplicateScanPlayersPerTick = 2;
+    public int duplicateScanIntervalTicks = 200; // Minimum ticks between the start of each full scan
+
+    // Item Transfers
+    // What happens to an item's own progress when it's combined or upgraded:
+    // MERGE adds the progress of the other tracked item used up, CARRY keeps only the item's own, RESET starts over
+    public ItemTransferRule anvilItemRule = ItemTransferRule.MERGE;
+    public ItemTransferRule smithingItemRule = ItemTransferRule.CARRY;
+    public ItemTransferRule grindstoneItemRule = ItemTransferRule.MERGE;
+
+    // Load Shedding
+    // While the average tick time is over degradedMsptThreshold, awards are held and applied together later,
+    // level-up messages wait and client syncs are spaced out. Normal work resumes under recoveredMsptThreshold
+    public boolean enableLoadShedding = true;
+    public double degradedMsptThreshold = 45.0;
+    public double recoveredMsptThreshold = 35.0;
+    public int degradedSyncIntervalTicks = 20; // How often held syncs are sent while overloaded
+    public int catchUpPlayersPerTick = 4; // Players whose held awards are applied per tick after recovering
+
+    // Scoreboard
+    // Mirrors category points to "prof.<category>" objectives (e.g. prof.pickaxe) and levels to "plvl.<category>",
+    // for datapacks and sidebars. Only changed scores are set, at most once every scoreboardUpdateIntervalTicks
+    public boolean enableScoreboardMirror = false;
+    public boolean scoreboardMirrorLevels = true;
+    public int scoreboardUpdateIntervalTicks = 20;
+
+    // Storage
+    // "component" keeps proficiency in each world's playerdata only
+    // "shared_file" also mirrors it to sharedStorageDirectory, so servers using the same directory share progress
+    public String storageBackend = "component";
+    public String sharedStorageDirectory = "proficiency-shared"; // Relative to the server directory, or absolute
+    public int storageFlushIntervalTicks = 100; // How often a batch of changed players is written to the shared store
+    public int storageBatchSize = 32; // Max players written per flush
+    public int storageMaxDirtyPlayers = 256; // Changed players held before a batch is written early
+    public int storageMaxPendingWrites = 128; // Timed flushes are skipped while this many writes are still waiting
+
     // Item Category Thresholds
     // Categories:
     // - Tools: pickaxes, shovels, hoes, shears, flint and steel, fishing rods, axes (when breaking blocks)
@@ -50,6 +138,20 @@ public class ProficiencyConfig {
             5, 30000
     );
 
+    // What happens to the copy of a duplicated item
+    public enum DuplicatePolicy {
+        LOG, // Only log the duplicate, both copies keep sharing progress
+        RESET, // Give the copy a new id, starting from no progress
+        COPY // Give the copy a new id, starting with a copy of the original's progress
+    }
+
+    // What happens to an item's progress when a combined or upgraded result is taken, see ItemTransfers
+    public enum ItemTransferRule {
+        MERGE, // The result keeps its item's progress, plus the progress of any other tracked item used up
+        CARRY, // The result keeps its item's progress, other items used up keep theirs
+        RESET // The result starts from no progress, the progress of the items used up is removed
+    }
+
     // Class to hold category thresholds
     public static class CategoryThresholds {
         public long[] baseThresholds;
@@ -75,41 +177,22 @@ public class ProficiencyConfig {
             this.unrivaledItemsRequired = unrivaledItems;
             this.unrivaledThreshold = unrivaledPoints;
         }
-        // Exponential scaling to thresholds
-        // Formula: threshold[i] = base * (multiplier ^ i)
-        public long[] getScaledThresholds(boolean exponential) {
-            if (!exponential) {
-                return baseThresholds;
-            }
-
-            // Calculate exponential scaling with a multiplicator of 1.375 per level
-            long[] scaled = new long[baseThresholds.length];
-            double multiplier = 1.35;
-            long base = baseThresholds[0];
+    }
 
-            for (int i=0; i<scaled.length; i++) {
-                scaled[i] = (long) (base * Math.pow(multiplier, i));
-            }
-            return scaled;
-        }
+    // Gets the thresholds object for a main category: "tools", "weapons" or "armour"
+    public CategoryThresholds getCategoryThresholds(String group) {
+        return switch (group) {
+            case ProficiencyCurves.WEAPONS -> this.weapons;
+            case ProficiencyCurves.ARMOUR -> this.armour;
+            default -> this.tools;
+        };
     }
 
     // Method to get values for config threshold calculations
+    // level is the level being reached, minus one, e.g. 0 for RUDIMENTARY
     public long getThresholdForLevel(String category, int level) {
-        if (useExponentialScaling) {
-            return (long) (expoBase * Math.pow(expoMultiplier, Math.pow(level, expoPower)));
-        } else {
-            // Get category thresholds;
-            CategoryThresholds thresholds;
-            switch (category.toLowerCase()) {
-                case "tools" -> thresholds = this.tools;
-                case "weapons" -> thresholds = this.weapons;
-                case "armour" -> thresholds = this.armour;
-                default -> throw new IllegalArgumentException("Unknown category " + category);
-            }
-            int safeLevel = Math.min(level, thresholds.baseThresholds.length - 1);
-            return thresholds.baseThresholds[Math.min(0, safeLevel)];
-        }
+        ProgressionCurve curve = ProficiencyCurves.forCategory(category);
+        return curve.getThreshold(Math.max(0, Math.min(level, curve.size() - 1)));
     }
 
     // Load config from file, or create default if it doesn't exist. Called during mod initialisation
@@ -129,6 +212,7 @@ public class ProficiencyConfig {
                 INSTANCE = new ProficiencyConfig();
                 INSTANCE.save();
             }
+            ProficiencyCurves.invalidate();
         }
         return INSTANCE;
     }
@@ -141,6 +225,7 @@ public class ProficiencyConfig {
                 GSON.toJson(this, writer);
                 Proficiency.LOGGER.info("Saved Proficiency config");
             }
+            ProficiencyCurves.invalidate();
         } catch (IOException e) {
             Proficiency.LOGGER.error("Failed to save config", e);
         }
@@ -0,0 +1,49 @@
+package proficiency.modid.event;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Per-target combat award cooldowns.
+ * Keyed by (attacker entity id, target entity id) packed into a long, storing the tick the next award is allowed,
+ * so checking a repeated hit is a single primitive map lookup.
+ */
+public final class CombatCooldowns {
+
+    // How often expired entries are swept out, in ticks
+    private static final int CLEANUP_INTERVAL = 200;
+
+    private static final Long2LongOpenHashMap NEXT_AWARD_TICK = new Long2LongOpenHashMap();
+
+    private CombatCooldowns() {}
+
+    public static void register() {
+        ServerTickEvents.END_SERVER_TICK.register(CombatCooldowns::onServerTick);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> NEXT_AWARD_TICK.clear());
+    }
+
+    /**
+     * Checks whether the attacker may be awarded for hitting this target, and starts the cooldown if so.
+     * @param cooldownTicks Ticks before the same target can award points again
+     * @return true if points should be awarded
+     */
+    public static boolean tryAcquire(Entity attacker, Entity target, int currentTick, int cooldownTicks) {
+        if (cooldownTicks <= 0) return true;
+
+        long key = ((long) attacker.getId() << 32) | (target.getId() & 0xFFFFFFFFL);
+        if (NEXT_AWARD_TICK.get(key) > currentTick) return false;
+
+        NEXT_AWARD_TICK.put(key, currentTick + cooldownTicks);
+        return true;
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        int now = server.getTicks();
+        if (now % CLEANUP_INTERVAL != 0 || NEXT_AWARD_TICK.isEmpty()) return;
+
+        NEXT_AWARD_TICK.long2LongEntrySet().removeIf(entry -> entry.getLongValue() <= now);
+    }
+}
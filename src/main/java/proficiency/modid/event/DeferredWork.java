@@ -0,0 +1,163 @@
+package proficiency.modid.event;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.item.Item;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+import org.jetbrains.annotations.Nullable;
+import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.config.ProficiencyConfig;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Holds back proficiency work while TickBudget reports the server as overloaded:
+ *  - Awards are summed per player, item and category instead of being applied, so levels and special unlocks
+ *    are worked out once per item rather than once per block or hit
+ *  - Client syncs are sent at most every degradedSyncIntervalTicks
+ *  - Level-up notifications wait in LevelUpNotifications until the server recovers
+ *
+ * Once the server recovers, held awards are applied a few players per tick. Players are keyed by UUID so
+ * awards survive a respawn. Awards are always applied before a player's data is saved (disconnect and server stop),
+ * and before any item's progress is merged, removed or re-keyed (see flush), so no points are lost or land on an
+ * item that no longer exists.
+ */
+public final class DeferredWork {
+
+    // Category-only awards (see ProficiencyEvents.awardCategoryPoints) have no item id, item or name
+    private static final class PendingAward {
+        final long itemId;
+        @Nullable
+        final Item item;
+        final String category;
+        @Nullable
+        Text itemName;
+        long points;
+
+        PendingAward(long itemId, @Nullable Item item, @Nullable Text itemName, String category) {
+            this.itemId = itemId;
+            this.item = item;
+            this.itemName = itemName;
+            this.category = category;
+        }
+    }
+
+    // Held awards per player, oldest player first. A player normally only uses a handful of items, so lists are short
+    private static final Map<UUID, List<PendingAward>> AWARDS = new LinkedHashMap<>();
+    private static final Set<UUID> SYNCS = new HashSet<>();
+
+    private DeferredWork() {}
+
+    public static void register() {
+        ServerTickEvents.END_SERVER_TICK.register(DeferredWork::onServerTick);
+        // Registered before storage, so held awards are in the data written on disconnect and stop
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> applyAwards(handler.player.getUuid(), handler.player));
+        ServerLifecycleEvents.SERVER_STOPPING.register(DeferredWork::applyAll);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            AWARDS.clear();
+            SYNCS.clear();
+        });
+    }
+
+    /**
+     * Holds an award while the server is overloaded.
+     * @return false if the award should be applied now
+     */
+    static boolean deferAward(ServerPlayerEntity player, long itemId, @Nullable Item item, @Nullable Text itemName,
+                              String category, long points) {
+        if (!TickBudget.isDegraded()) return false;
+
+        List<PendingAward> awards = AWARDS.computeIfAbsent(player.getUuid(), key -> new ArrayList<>(4));
+        for (PendingAward award : awards) {
+            if (award.itemId == itemId && award.category == category) {
+                award.points += points;
+                award.itemName = itemName;
+                return true;
+            }
+        }
+
+        PendingAward award = new PendingAward(itemId, item, itemName, category);
+        award.points = points;
+        awards.add(award);
+        return true;
+    }
+
+    /**
+     * Holds a client sync while the server is overloaded.
+     * @return false if the sync should be sent now
+     */
+    public static boolean deferSync(ServerPlayerEntity player) {
+        if (!TickBudget.isDegraded()) return false;
+
+        SYNCS.add(player.getUuid());
+        return true;
+    }
+
+    /**
+     * Applies a player's held awards now. Must be called before moving or removing item progress,
+     * as held awards are keyed by item id.
+     */
+    public static void flush(ServerPlayerEntity player) {
+        List<PendingAward> awards = AWARDS.remove(player.getUuid());
+        if (awards != null) apply(player, awards);
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        ProficiencyConfig config = ProficiencyConfig.get();
+
+        if (TickBudget.isDegraded()) {
+            if (server.getTicks() % Math.max(1, config.degradedSyncIntervalTicks) == 0) sendSyncs(server);
+            return;
+        }
+
+        // Recovered, catch up a few players at a time
+        if (!AWARDS.isEmpty()) {
+            Iterator<Map.Entry<UUID, List<PendingAward>>> iterator = AWARDS.entrySet().iterator();
+            for (int i = 0; i < Math.max(1, config.catchUpPlayersPerTick) && iterator.hasNext(); i++) {
+                Map.Entry<UUID, List<PendingAward>> entry = iterator.next();
+                iterator.remove();
+                apply(server.getPlayerManager().getPlayer(entry.getKey()), entry.getValue());
+            }
+        }
+        if (!SYNCS.isEmpty()) sendSyncs(server);
+    }
+
+    private static void sendSyncs(MinecraftServer server) {
+        for (UUID id : SYNCS) {
+            ServerPlayerEntity player = server.getPlayerManager().getPlayer(id);
+            if (player != null) ProficiencyComponents.PROFICIENCY.sync(player);
+        }
+        SYNCS.clear();
+    }
+
+    private static void applyAwards(UUID id, ServerPlayerEntity player) {
+        List<PendingAward> awards = AWARDS.remove(id);
+        if (awards != null) apply(player, awards);
+        SYNCS.remove(id);
+    }
+
+    private static void applyAll(MinecraftServer server) {
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            applyAwards(player.getUuid(), player);
+        }
+        AWARDS.clear();
+    }
+
+    private static void apply(ServerPlayerEntity player, List<PendingAward> awards) {
+        if (player == null) return; // Awards are applied on disconnect, so offline players have none left
+
+        for (PendingAward award : awards) {
+            ProficiencyEvents.applyAward(player, award.itemId, award.item, award.itemName, award.category, award.points);
+        }
+    }
+}
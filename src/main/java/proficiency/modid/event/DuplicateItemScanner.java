@@ -0,0 +1,149 @@
+package proficiency.modid.event;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import proficiency.modid.Proficiency;
+import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.config.ProficiencyConfig;
+import proficiency.modid.proficiency.ItemIdAllocator;
+import proficiency.modid.proficiency.ProficiencyData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds stacks sharing one tracking id, e.g. from creative pick-block, dupes or /give of a tracked stack,
+ * which would otherwise pool their progress.
+ *
+ * Online players' inventories and ender chests are scanned a few players per tick, recording where each id was seen
+ * during the pass. Containers in the world and offline players aren't scanned, so copies stored there are only
+ * found once they're picked up. An id seen a second time is only a duplicate if the first stack still holds it,
+ * so items moved between players mid-pass aren't flagged.
+ *
+ * Copies are logged, and by default left alone. The RESET and COPY policies give one copy a new id: when the copies
+ * are held by different players, the id stays with the player who has more progress for it.
+ */
+public final class DuplicateItemScanner {
+
+    private record Location(ServerPlayerEntity player, boolean enderChest, int slot) {
+        ItemStack getStack() {
+            Inventory inventory = enderChest ? player.getEnderChestInventory() : player.getInventory();
+            return inventory.getStack(slot);
+        }
+    }
+
+    // Where each id was first seen during the current pass
+    private static final Long2ObjectOpenHashMap<Location> SEEN = new Long2ObjectOpenHashMap<>();
+
+    private static List<ServerPlayerEntity> passPlayers = List.of();
+    private static int cursor;
+    private static int nextPassTick;
+
+    private DuplicateItemScanner() {}
+
+    public static void register() {
+        ServerTickEvents.END_SERVER_TICK.register(DuplicateItemScanner::onServerTick);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> reset());
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        ProficiencyConfig config = ProficiencyConfig.get();
+        if (!config.enableDuplicateScan || ItemIdAllocator.get() == null) return;
+
+        if (cursor >= passPlayers.size()) {
+            // Previous pass finished, wait for the next one
+            if (server.getTicks() < nextPassTick) return;
+
+            SEEN.clear();
+            passPlayers = new ArrayList<>(server.getPlayerManager().getPlayerList());
+            cursor = 0;
+            nextPassTick = server.getTicks() + config.duplicateScanIntervalTicks;
+        }
+
+        int end = Math.min(passPlayers.size(), cursor + Math.max(1, config.duplicateScanPlayersPerTick));
+        for (; cursor < end; cursor++) {
+            ServerPlayerEntity player = passPlayers.get(cursor);
+            if (!player.isRemoved()) {
+                scan(player, false, player.getInventory(), config.duplicatePolicy);
+                scan(player, true, player.getEnderChestInventory(), config.duplicatePolicy);
+            }
+        }
+    }
+
+    private static void scan(ServerPlayerEntity player, boolean enderChest, Inventory inventory,
+                             ProficiencyConfig.DuplicatePolicy policy) {
+        for (int slot = 0; slot < inventory.size(); slot++) {
+            ItemStack stack = inventory.getStack(slot);
+            long id = ProficiencyData.getItemId(stack);
+            if (id == ProficiencyData.NO_ITEM_ID) continue;
+
+            Location here = new Location(player, enderChest, slot);
+            Location first = SEEN.get(id);
+            if (first == null || !stillHolds(first, id)) {
+                SEEN.put(id, here);
+                continue;
+            }
+            if (first.equals(here)) continue;
+
+            Proficiency.LOGGER.info("Duplicate proficiency item id {} held by {} ({} slot {}) and {} ({} slot {})",
+                    id, first.player().getName().getString(), first.enderChest() ? "ender chest" : "inventory", first.slot(),
+                    player.getName().getString(), enderChest ? "ender chest" : "inventory", slot);
+            if (policy == ProficiencyConfig.DuplicatePolicy.LOG) continue;
+
+            // Keep the id with whoever has more progress for it, the other copy is re-keyed
+            if (first.player() != player && getPoints(first.player(), id) < getPoints(player, id)) {
+                rekey(first.player(), first.getStack(), id, policy);
+                SEEN.put(id, here);
+            } else {
+                rekey(player, stack, id, policy);
+            }
+        }
+    }
+
+    private static boolean stillHolds(Location location, long id) {
+        return !location.player().isRemoved() && ProficiencyData.getItemId(location.getStack()) == id;
+    }
+
+    private static long getPoints(ServerPlayerEntity player, long id) {
+        ProficiencyData.Progress progress = ProficiencyComponents.getProficiency().get(player).getItem(id);
+        return progress != null ? progress.points : 0;
+    }
+
+    /**
+     * Gives a copy its own id. With COPY, the holder's progress for the original is copied to the new id.
+     */
+    private static void rekey(ServerPlayerEntity holder, ItemStack stack, long oldId, ProficiencyConfig.DuplicatePolicy policy) {
+        // Held awards stay with the id they were earned under
+        DeferredWork.flush(holder);
+
+        long newId = ItemIdAllocator.get().allocate();
+        stack.getOrCreateNbt().putLong(ProficiencyData.ITEM_ID_KEY, newId);
+
+        if (policy == ProficiencyConfig.DuplicatePolicy.COPY) {
+            ProficiencyData data = ProficiencyComponents.getProficiency().get(holder);
+            ProficiencyData.Progress original = data.getItem(oldId);
+            if (original != null) {
+                ProficiencyData.Progress copy = data.getOrCreateItem(newId);
+                copy.points = original.points;
+                copy.level = original.level;
+                copy.category = original.category;
+                copy.lastUsed = original.lastUsed;
+                copy.decayedTo = original.decayedTo;
+                copy.markNotified();
+                ProficiencyComponents.sync(holder);
+            }
+        }
+    }
+
+    private static void reset() {
+        SEEN.clear();
+        passPlayers = List.of();
+        cursor = 0;
+        nextPassTick = 0;
+    }
+}
@@ -0,0 +1,111 @@
+package proficiency.modid.event;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.network.ServerPlayerEntity;
+import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.config.ProficiencyConfig;
+import proficiency.modid.proficiency.ItemCategories;
+import proficiency.modid.proficiency.ProficiencyData;
+
+/**
+ * Decides what happens to per-item progress when items are combined or upgraded in an anvil, smithing table
+ * or grindstone. The result is a copy of one input, so by default it silently keeps that input's tracking id.
+ *
+ * Work is split in two, as a result can be shown many times before it's taken (or never taken):
+ *  - prepareResult: only changes the result stack's tracking tags, runs whenever the result is recomputed
+ *  - onTaken: moves or removes progress in the player's data in place, runs once when the result is taken
+ */
+public final class ItemTransfers {
+
+    private ItemTransfers() {}
+
+    /**
+     * Adjusts the tracking tags of a freshly computed result. Safe to call on the client.
+     * @param inputs The inputs that can carry a tracking id, in the order the result is copied from them
+     */
+    public static void prepareResult(ItemStack result, ProficiencyConfig.ItemTransferRule rule, ItemStack... inputs) {
+        if (result.isEmpty()) return;
+
+        switch (rule) {
+            case RESET -> {
+                result.removeSubNbt(ProficiencyData.ITEM_ID_KEY);
+                result.removeSubNbt(ProficiencyData.LEGACY_ITEM_UUID_KEY);
+            }
+            case MERGE -> {
+                // An untracked item combined with a tracked one takes the tracked item's id, matching onTaken
+                ItemStack target = findTarget(inputs);
+                if (target != null && !isTracked(result)) {
+                    copyTrackingTags(target, result);
+                }
+            }
+            case CARRY -> {}
+        }
+    }
+
+    /**
+     * Applies the rule to the player's data, called before the inputs are used up.
+     * @param inputs The same inputs given to prepareResult
+     */
+    public static void onTaken(ServerPlayerEntity player, ProficiencyConfig.ItemTransferRule rule, ItemStack... inputs) {
+        if (rule == ProficiencyConfig.ItemTransferRule.CARRY) return;
+
+        ItemStack target = findTarget(inputs);
+        if (target == null) return;
+
+        // Held awards are keyed by item id, so they're applied before any id is merged or removed
+        DeferredWork.flush(player);
+
+        ProficiencyData data = ProficiencyComponents.getProficiency().get(player);
+        long targetId = ProficiencyData.getOrMigrateItemId(target);
+        boolean changed = false;
+
+        if (rule == ProficiencyConfig.ItemTransferRule.RESET) {
+            for (ItemStack input : inputs) {
+                if (isTracked(input)) {
+                    changed |= data.removeItem(ProficiencyData.getOrMigrateItemId(input));
+                }
+            }
+        } else {
+            String category = ItemCategories.getCategory(target);
+            if (category == null) return;
+
+            for (ItemStack input : inputs) {
+                if (input != target && isTracked(input)) {
+                    changed |= data.mergeItem(targetId, ProficiencyData.getOrMigrateItemId(input), category);
+                }
+            }
+        }
+
+        if (!changed) return;
+        ProficiencyComponents.sync(player);
+
+        ProficiencyData.Progress progress = data.getItem(targetId);
+        if (progress != null && progress.consumeLevelUp()) {
+            LevelUpNotifications.queue(player, target.getName(), progress.level);
+        }
+    }
+
+    // The first tracked input, whose id the result keeps
+    private static ItemStack findTarget(ItemStack[] inputs) {
+        for (ItemStack input : inputs) {
+            if (isTracked(input)) return input;
+        }
+        return null;
+    }
+
+    // Has a tracking id, or a legacy UUID that will be migrated to one
+    private static boolean isTracked(ItemStack stack) {
+        NbtCompound nbt = stack.getNbt();
+        return nbt != null && (nbt.contains(ProficiencyData.ITEM_ID_KEY) || nbt.contains(ProficiencyData.LEGACY_ITEM_UUID_KEY));
+    }
+
+    private static void copyTrackingTags(ItemStack from, ItemStack to) {
+        NbtCompound nbt = from.getNbt();
+        for (String key : new String[]{ProficiencyData.ITEM_ID_KEY, ProficiencyData.LEGACY_ITEM_UUID_KEY}) {
+            if (nbt.contains(key)) {
+                to.setSubNbt(key, nbt.get(key).copy());
+            }
+        }
+    }
+}
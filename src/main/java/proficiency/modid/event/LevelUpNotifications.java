@@ -0,0 +1,101 @@
+package proficiency.modid.event;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.text.Text;
+import proficiency.modid.proficiency.ProficiencyLevel;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Queues level-up notifications and sends at most one per player per tick.
+ * Several level-ups in the same tick (e.g. an item and its category, or a large command award)
+ * are collapsed into a single action bar message and sound for the highest new level.
+ * While the server is overloaded, notifications wait and are collapsed until it recovers.
+ */
+public final class LevelUpNotifications {
+
+    private static final class Pending {
+        Text name;
+        ProficiencyLevel level;
+        int count;
+    }
+
+    // Category display names, built once per category
+    private static final Map<String, Text> CATEGORY_NAMES = new HashMap<>();
+
+    private static final Map<ServerPlayerEntity, Pending> PENDING = new IdentityHashMap<>();
+
+    // Nothing is queued until the flush is registered, so queued players are never kept alive without being sent
+    private static boolean registered;
+
+    private LevelUpNotifications() {}
+
+    public static void register() {
+        ServerTickEvents.END_SERVER_TICK.register(LevelUpNotifications::flush);
+        // Notifications held back by an overloaded server don't keep disconnected players
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> PENDING.remove(handler.player));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> PENDING.clear());
+        registered = true;
+    }
+
+    /**
+     * Gets the translatable display name for a category, e.g. "Pickaxe".
+     */
+    public static Text getCategoryName(String category) {
+        return CATEGORY_NAMES.computeIfAbsent(category, key -> Text.translatable("item_type.proficiency." + key));
+    }
+
+    /**
+     * Queues a level-up to be shown to the player at the end of the tick.
+     * @param name Display name of the category or item that levelled up
+     */
+    public static void queue(ServerPlayerEntity player, Text name, ProficiencyLevel level) {
+        if (!registered) return;
+
+        Pending pending = PENDING.computeIfAbsent(player, key -> new Pending());
+        pending.count++;
+
+        if (pending.level == null || level.ordinal() > pending.level.ordinal()) {
+            pending.name = name;
+            pending.level = level;
+        }
+    }
+
+    private static void flush(MinecraftServer server) {
+        if (PENDING.isEmpty() || TickBudget.isDegraded()) return;
+
+        for (Map.Entry<ServerPlayerEntity, Pending> entry : PENDING.entrySet()) {
+            ServerPlayerEntity player = entry.getKey();
+            Pending pending = entry.getValue();
+            if (player.isDisconnected()) continue;
+
+            Text message = pending.count == 1
+                    ? Text.translatable("notification.proficiency.level_up", pending.name, pending.level.getDisplayName())
+                    : Text.translatable("notification.proficiency.level_up.multiple",
+                            pending.name, pending.level.getDisplayName(), pending.count - 1);
+            player.sendMessage(message, true);
+
+            playSoundForLevel(player, pending.level);
+        }
+
+        PENDING.clear();
+    }
+
+    /**
+     * Plays a sound effect when a player levels up.
+     * Uses note block sounds with different pitches based on level.
+     */
+    private static void playSoundForLevel(ServerPlayerEntity player, ProficiencyLevel level) {
+        float pitch = 0.5f + (level.ordinal() * 0.1f); // Higher level = higher pitch
+        player.playSound(SoundEvents.BLOCK_NOTE_BLOCK_BELL.value(),
+                1.0f,
+                Math.min(2.0f, pitch)); // Cap pitch at 2.0
+    }
+}
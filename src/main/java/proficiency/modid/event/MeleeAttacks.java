@@ -0,0 +1,123 @@
+package proficiency.modid.event;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+import proficiency.modid.config.ProficiencyConfig;
+import proficiency.modid.proficiency.ProficiencyData;
+
+/**
+ * Collects the combat points earned during one melee attack (damage, kill and crit bonuses, sweep targets included),
+ * so the attack is awarded, synced and checked for level-ups once, when PlayerEntity.attack returns.
+ * Also adds the sword damage bonus for the length of the attack, so it never applies to other weapons or fists.
+ * Server thread only, a single attack is open at a time.
+ */
+public final class MeleeAttacks {
+
+    private static ServerPlayerEntity attacker;
+    private static int openedTick;
+
+    // The weapon held when the attack started. It may break before the attack ends, so its item and name are kept
+    private static ItemStack weapon = ItemStack.EMPTY;
+    private static Item weaponItem = Items.AIR;
+    private static Text weaponName;
+    private static String weaponType;
+
+    private static long points;
+    private static boolean firstHit;
+    private static boolean firstHitAwarded;
+
+    private MeleeAttacks() {}
+
+    public static void register() {
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> clear());
+    }
+
+    /**
+     * Starts collecting points for an attack, called at the start of PlayerEntity.attack.
+     */
+    public static void begin(ServerPlayerEntity player) {
+        // An attack left open by an exception in an earlier tick is dropped
+        if (attacker != null && openedTick == player.getServer().getTicks()) return;
+
+        attacker = player;
+        openedTick = player.getServer().getTicks();
+        weapon = player.getMainHandStack();
+        weaponItem = weapon.getItem();
+        weaponName = weapon.getName();
+        weaponType = ProficiencyEvents.getWeaponType(weapon);
+        ProficiencyEffects.setAttackBonus(player, weaponType);
+        points = 0;
+        firstHit = true;
+        firstHitAwarded = false;
+    }
+
+    /**
+     * @return true if the player's hits are being collected by an open attack
+     */
+    static boolean isAttacking(ServerPlayerEntity player) {
+        return attacker == player;
+    }
+
+    /**
+     * Gets the weapon type of the open attack, or null if the player isn't attacking with a weapon.
+     */
+    static String getWeaponType(ServerPlayerEntity player) {
+        return attacker == player ? weaponType : null;
+    }
+
+    /**
+     * Adds a target's damage and kill points to the open attack.
+     * @param cooldownAcquired Whether the hit passed the target's award cooldown, crits are only awarded if it did
+     */
+    static void addHit(long hitPoints, boolean cooldownAcquired) {
+        points += hitPoints;
+
+        // Crits only apply to the attacked entity, which is always damaged before any sweep targets
+        if (firstHit) {
+            firstHit = false;
+            firstHitAwarded = cooldownAcquired;
+        }
+    }
+
+    /**
+     * Adds the crit bonus, called once vanilla has confirmed a critical hit landed.
+     */
+    public static void onCriticalHit(ServerPlayerEntity player) {
+        if (attacker == player && firstHitAwarded && weaponType != null) {
+            points += ProficiencyConfig.get().combatCritPoints;
+        }
+    }
+
+    /**
+     * Awards the points collected during the attack, called when PlayerEntity.attack returns.
+     */
+    public static void end(ServerPlayerEntity player) {
+        if (attacker != player) return;
+
+        ItemStack stack = weapon;
+        Item item = weaponItem;
+        Text name = weaponName;
+        String category = weaponType;
+        long total = points;
+        clear();
+        ProficiencyEffects.setAttackBonus(player, null);
+
+        if (category != null && total > 0) {
+            // A weapon that broke during the attack still has its tags, so its id is kept
+            ProficiencyEvents.awardPoints(player, ProficiencyData.ensureItemId(stack), item, name, category, total);
+        }
+    }
+
+    private static void clear() {
+        attacker = null;
+        weapon = ItemStack.EMPTY;
+        weaponItem = Items.AIR;
+        weaponName = null;
+        weaponType = null;
+        points = 0;
+    }
+}
@@ -0,0 +1,78 @@
+package proficiency.modid.event;
+
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.entity.attribute.EntityAttribute;
+import net.minecraft.entity.attribute.EntityAttributeInstance;
+import net.minecraft.entity.attribute.EntityAttributeModifier;
+import net.minecraft.entity.attribute.EntityAttributes;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.Nullable;
+import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.proficiency.ItemCategories;
+import proficiency.modid.proficiency.ProficiencyData;
+import proficiency.modid.proficiency.ProficiencyModifiers;
+
+import java.util.UUID;
+
+/**
+ * Applies a player's cached proficiency modifiers as attribute modifiers.
+ * Modifiers are temporary (not saved with the player), so they're reapplied on join and respawn.
+ * Mining speed isn't an attribute in 1.20.1 and is applied by PlayerMiningSpeedMixin instead.
+ * The sword damage bonus is only added for the length of a melee attack made with a sword, see MeleeAttacks.
+ */
+public final class ProficiencyEffects {
+
+    private static final UUID ATTACK_DAMAGE_ID = UUID.fromString("5d3f0b5e-1c8a-4d39-9a51-3e6f2c0d7a11");
+    private static final UUID ARMOR_TOUGHNESS_ID = UUID.fromString("9b2e7c44-6f1d-4e0a-b8c3-71a5d4e9f022");
+
+    private ProficiencyEffects() {}
+
+    public static void register() {
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> apply(handler.player));
+        ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> apply(newPlayer));
+    }
+
+    /**
+     * Reapplies attribute modifiers if the player's category levels changed since they were last applied.
+     * @return true if the modifiers changed
+     */
+    public static boolean refresh(ServerPlayerEntity player, ProficiencyData data) {
+        if (!data.consumeModifiersChanged()) return false;
+
+        applyModifiers(player, data.getModifiers());
+        return true;
+    }
+
+    private static void apply(ServerPlayerEntity player) {
+        ProficiencyData data = ProficiencyComponents.getProficiency().get(player);
+        data.consumeModifiersChanged();
+        applyModifiers(player, data.getModifiers());
+    }
+
+    /**
+     * Adds the sword damage bonus while a sword attack is being made, or removes it.
+     * @param weaponType Category of the weapon being attacked with, the bonus only applies to swords
+     */
+    static void setAttackBonus(ServerPlayerEntity player, @Nullable String weaponType) {
+        double bonus = weaponType == ItemCategories.SWORD
+                ? ProficiencyComponents.getProficiency().get(player).getModifiers().attackDamage
+                : 0;
+        setModifier(player, EntityAttributes.GENERIC_ATTACK_DAMAGE, ATTACK_DAMAGE_ID, "Proficiency attack damage", bonus);
+    }
+
+    private static void applyModifiers(ServerPlayerEntity player, ProficiencyModifiers modifiers) {
+        setModifier(player, EntityAttributes.GENERIC_ARMOR_TOUGHNESS, ARMOR_TOUGHNESS_ID,
+                "Proficiency armor toughness", modifiers.armorToughness);
+    }
+
+    private static void setModifier(ServerPlayerEntity player, EntityAttribute attribute, UUID id, String name, double value) {
+        EntityAttributeInstance instance = player.getAttributeInstance(attribute);
+        if (instance == null) return;
+
+        instance.removeModifier(id);
+        if (value != 0) {
+            instance.addTemporaryModifier(new EntityAttributeModifier(id, name, value, EntityAttributeModifier.Operation.ADDITION));
+        }
+    }
+}
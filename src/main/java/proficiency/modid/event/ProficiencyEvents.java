@@ -1,36 +1,61 @@
 package proficiency.modid.event;
 
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.player.*;
 import net.minecraft.block.BlockState;
+import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
-import net.minecraft.util.ActionResult;
 import net.minecraft.util.Hand;
 import net.minecraft.util.TypedActionResult;
-import net.minecraft.util.hit.EntityHitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
 import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.config.ProficiencyConfig;
+import proficiency.modid.proficiency.BlockAwardTable;
+import proficiency.modid.proficiency.ItemCategories;
 import proficiency.modid.proficiency.ProficiencyData;
-import proficiency.modid.proficiency.ProficiencyLevel;
+
 
 public class ProficiencyEvents {
 
+    // Armor slots and their matching categories, avoids EquipmentSlot.values() allocating every hit
+    private static final EquipmentSlot[] ARMOR_SLOTS = {
+            EquipmentSlot.HEAD, EquipmentSlot.CHEST, EquipmentSlot.LEGS, EquipmentSlot.FEET
+    };
+    private static final String[] ARMOR_TYPES = {
+            ItemCategories.HELMET, ItemCategories.CHESTPLATE, ItemCategories.LEGGINGS, ItemCategories.BOOTS
+    };
 
     public static void register() {
         // Register event listeners
         PlayerBlockBreakEvents.AFTER.register(ProficiencyEvents::onBlockBreak);
-        AttackEntityCallback.EVENT.register(ProficiencyEvents::onAttackEntity);
         UseItemCallback.EVENT.register(ProficiencyEvents::onUseItem);
+        CombatCooldowns.register();
+        MeleeAttacks.register();
+        RangedWeapons.register();
+        SkillDecay.register();
+        ProficiencyEffects.register();
+        LevelUpNotifications.register();
+        DuplicateItemScanner.register();
+        TickBudget.register();
+        DeferredWork.register();
+        ScoreboardMirror.register();
+
+        // Mining awards depend on block tags, so rebuild whenever datapacks are (re)loaded
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> BlockAwardTable.rebuild());
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> BlockAwardTable.rebuild());
     }
 
     /**
      * Called when a player breaks a block
-     * Awards points based on tool type used
+     * Awards points based on tool type used and the block's precomputed value
      */
     private static void onBlockBreak(World world, PlayerEntity player, BlockPos pos, BlockState state, @Nullable net.minecraft.block.entity.BlockEntity blockEntity) {
         if (world.isClient || !(player instanceof ServerPlayerEntity serverPlayer)) {
@@ -41,31 +66,105 @@ public class ProficiencyEvents {
         if (stack.isEmpty()) return;
 
         // Determine tool category
-        String toolType = getToolType(stack, state);
-        if (toolType != null) {
-            awardPoints(serverPlayer, stack, toolType, 1);
+        String toolType = ItemCategories.getToolCategory(stack);
+        if (toolType == null) return;
+
+        int points = BlockAwardTable.getPoints(state, toolType, stack);
+        if (points > 0) {
+            awardPoints(serverPlayer, stack, toolType, points);
         }
     }
 
     /**
-     * Called when a player attacks an entity
-     * Awards points for weapon usage
+     * Called after a living entity has actually taken damage from a player.
+     * Awards points weighted by the damage dealt, at most once per target per cooldown window,
+     * plus a bonus weighted by the target's max health if the hit killed it.
+     * Melee hits are collected by MeleeAttacks and awarded once per attack.
      */
-    private static ActionResult onAttackEntity(PlayerEntity player, World world, Hand hand,
-                                               net.minecraft.entity.Entity entity, @Nullable EntityHitResult hitResult) {
-        if (world.isClient || !(player instanceof ServerPlayerEntity serverPlayer) || !(entity instanceof LivingEntity)) {
-            return ActionResult.PASS;
+    public static void onDamageDealt(ServerPlayerEntity player, LivingEntity target, DamageSource source, float damageDealt, boolean killed) {
+        String weaponType;
+        boolean melee = source.getSource() == player;
+        if (melee) {
+            weaponType = MeleeAttacks.isAttacking(player) ? MeleeAttacks.getWeaponType(player) : getWeaponType(player.getMainHandStack());
+        } else if (source.getSource() instanceof TrackedProjectile projectile && projectile.getProficiencyWeaponId() != ProficiencyData.NO_ITEM_ID) {
+            weaponType = projectile.getProficiencyCategory();
+        } else {
+            return;
         }
+        if (weaponType == null) return;
 
-        ItemStack stack = player.getStackInHand(hand);
-        if (stack.isEmpty()) return ActionResult.PASS;
+        ProficiencyConfig config = ProficiencyConfig.get();
+        long points = 0;
+
+        // The cooldown only limits damage awards, kills always count
+        boolean acquired = damageDealt > 0
+                && CombatCooldowns.tryAcquire(player, target, player.getServer().getTicks(), config.combatTargetCooldownTicks);
+        if (acquired) {
+            points += Math.min(config.combatMaxHitPoints, Math.max(1, Math.round(damageDealt * config.combatPointsPerDamage)));
+        }
+        if (killed) {
+            points += Math.max(1, Math.round(target.getMaxHealth() * config.combatKillPointsPerHealth));
+        }
+
+        if (melee) {
+            if (MeleeAttacks.isAttacking(player)) {
+                MeleeAttacks.addHit(points, acquired);
+            } else {
+                awardPoints(player, player.getMainHandStack(), weaponType, points);
+            }
+        } else {
+            TrackedProjectile projectile = (TrackedProjectile) source.getSource();
+            awardPoints(player, projectile.getProficiencyWeaponId(), projectile.getProficiencyWeaponItem(),
+                    projectile.getProficiencyWeaponName(), weaponType, points);
+        }
+    }
+
+    /**
+     * Called after a player has taken damage that armor can protect against.
+     * Awards points to each armor piece worn, and syncs once for the whole hit.
+     * While the server is overloaded the pieces' awards are held like any other, see DeferredWork
+     */
+    public static void onArmourDamaged(ServerPlayerEntity player, float damage) {
+        // More dangerous damage = more points
+        int points = calculateArmorPoints(damage);
+        ProficiencyData data = null;
+
+        for (int i = 0; i < ARMOR_SLOTS.length; i++) {
+            ItemStack armor = player.getEquippedStack(ARMOR_SLOTS[i]);
+            if (armor.isEmpty()) continue;
+
+            long itemId = ProficiencyData.ensureItemId(armor);
+            if (itemId == ProficiencyData.NO_ITEM_ID
+                    || DeferredWork.deferAward(player, itemId, armor.getItem(), armor.getName(), ARMOR_TYPES[i], points)) continue;
+
+            // Only look up the component once something is actually awarded
+            if (data == null) {
+                data = ProficiencyComponents.getProficiency().get(player);
+            }
+            addAward(data, itemId, armor.getItem(), ARMOR_TYPES[i], points);
+        }
 
-        String weaponType = getWeaponType(stack);
-        if (weaponType != null) {
-            awardPoints(serverPlayer, stack, weaponType, 2); // More points for combat
+        if (data == null) return;
+        ProficiencyComponents.sync(player);
+
+        for (int i = 0; i < ARMOR_SLOTS.length; i++) {
+            ItemStack armor = player.getEquippedStack(ARMOR_SLOTS[i]);
+            long itemId = ProficiencyData.getItemId(armor);
+            if (itemId != ProficiencyData.NO_ITEM_ID) {
+                notifyLevelUps(player, data, itemId, armor.getName(), ARMOR_TYPES[i]);
+            }
         }
+    }
 
-        return ActionResult.PASS;
+    /**
+     * Calculates points based on damage amount.
+     * Higher damage = more points (you're using armor effectively).
+     */
+    private static int calculateArmorPoints(float damage) {
+        if (damage < 2.0f) return 1;
+        if (damage < 5.0f) return 2;
+        if (damage < 10.0f) return 3;
+        return 4; // Significant damage
     }
 
     /**
@@ -92,101 +191,80 @@ public class ProficiencyEvents {
      * Awards points to both the item category and individual item instance
      * Handles level-up detection and notification
      */
-    private static void awardPoints(ServerPlayerEntity player, ItemStack stack, String category, long points) {
+    public static void awardPoints(ServerPlayerEntity player, ItemStack stack, String category, long points) {
         if (points <= 0) return;
 
-        // Initialise data object for storing player levels
-        ProficiencyData data = ProficiencyComponents.getProficiency().get(player);
-        // Get/create UUID for this specific item
-        String itemUuid = ProficiencyData.ensureItemUuid(stack).toString();
-
-        // Store previous levels for level-up detection
-        ProficiencyLevel oldCategoryLevel = data.getLevel(category);
-        ProficiencyLevel oldItemLevel = data.getLevel(itemUuid);
-
-        // Award points to both category and item
-        data.addPoints(category, points);
-        data.addPoints(itemUuid, points);
-
-        // Check for special unlocks if at MASTERFUL or higher
-        ProficiencyLevel newCategoryLevel = data.getLevel(category);
-        if (newCategoryLevel == ProficiencyLevel.MASTERFUL) {
-            ProficiencyLevel specialLevel = data.calculateSpecialUnlock(category);
-            if (specialLevel.ordinal() > ProficiencyLevel.MASTERFUL.ordinal()) {
-                // Manually set the special level
-                data.getOrCreateType(category).level = specialLevel;
-                newCategoryLevel = specialLevel;
-            }
-        }
+        // Get/create the tracking id for this specific item
+        awardPoints(player, ProficiencyData.ensureItemId(stack), stack.getItem(), stack.getName(), category, points);
+    }
 
-        // Sync data to client
-        ProficiencyComponents.getProficiency().sync(player);
+    /**
+     * Awards points to the item category, item type and an item instance that may no longer be in hand,
+     * e.g. the bow a landed arrow was fired from.
+     */
+    public static void awardPoints(ServerPlayerEntity player, long itemId, Item item, Text itemName, String category, long points) {
+        // No id means no allocator is loaded, e.g. while the server is still starting
+        if (points <= 0 || itemId == ProficiencyData.NO_ITEM_ID) return;
+        if (DeferredWork.deferAward(player, itemId, item, itemName, category, points)) return;
 
-        // Check for level-ups
-        checkLevelUp(player, data, category, oldCategoryLevel, newCategoryLevel, capitalize(category));
-        checkLevelUp(player, data, itemUuid, oldItemLevel, data.getLevel(itemUuid), stack.getName().getString());
+        applyAward(player, itemId, item, itemName, category, points);
     }
 
-
     /**
-     * Plays a sound effect when a player levels up.
-     * Uses note block sounds with different pitches based on level.
+     * Awards points to a category only, without crediting any item, e.g. from ProficiencyApi.
+     * Held back like any other award while the server is overloaded.
      */
-    private static void playSoundForLevel(ServerPlayerEntity player, ProficiencyLevel level) {
-        float pitch = 0.5f + (level.ordinal() * 0.1f); // Higher level = higher pitch
-        player.playSound(net.minecraft.sound.SoundEvents.BLOCK_NOTE_BLOCK_BELL.value(),
-                1.0f,
-                Math.min(2.0f, pitch)); // Cap pitch at 2.0
+    public static void awardCategoryPoints(ServerPlayerEntity player, String category, long points) {
+        if (points <= 0) return;
+        if (DeferredWork.deferAward(player, ProficiencyData.NO_ITEM_ID, null, null, category, points)) return;
+
+        applyAward(player, ProficiencyData.NO_ITEM_ID, null, null, category, points);
     }
 
+    // Applies an award straight away, also used by DeferredWork to apply held awards.
+    // Category-only awards have no item id, item or name
+    static void applyAward(ServerPlayerEntity player, long itemId, @Nullable Item item, @Nullable Text itemName,
+                           String category, long points) {
+        // Initialise data object for storing player levels
+        ProficiencyData data = ProficiencyComponents.getProficiency().get(player);
+        addAward(data, itemId, item, category, points);
 
-    /**
-     * Checks if a level-up occurred and sends a notification message.
-     * May change, I'll either add a UI or something similar
-     */
-    private static void checkLevelUp(ServerPlayerEntity player, ProficiencyData data,
-                                     String id, ProficiencyLevel oldLevel,
-                                     ProficiencyLevel newLevel, String displayName) {
-        if (newLevel != null && (oldLevel == null || newLevel.ordinal() > oldLevel.ordinal())) {
-            // Level up message
-            player.sendMessage(
-                    Text.literal(String.format("%s proficiency increased to %s!",
-                            displayName,
-                            formatLevelName(newLevel)
-                    )),
-                    false
-            );
-
-            // Play sound for level-up
-            playSoundForLevel(player, newLevel);
-
-            data.setPreviousLevel(id, newLevel);
-        }
+        // Sync data to client
+        ProficiencyComponents.sync(player);
+
+        notifyLevelUps(player, data, itemId, itemName, category);
     }
 
+    // Awards points to the category, item type and item, without syncing
+    private static void addAward(ProficiencyData data, long itemId, @Nullable Item item, String category, long points) {
+        data.addTypePoints(category, points);
+        if (item != null) data.addItemTypePoints(item, category, points);
+        if (itemId != ProficiencyData.NO_ITEM_ID) data.addItemPoints(itemId, category, points);
 
-    /**
-     * Determines tool type based on item class and effectiveness.
-     * Returns category name like "pickaxe", "axe", etc.
-     */
-    private static String getToolType(ItemStack stack, BlockState state) {
-        // Check effectiveness first for proper tool usage
-        if (!stack.isSuitableFor(state)) return null;
+        // Check for special unlocks if at MASTERFUL
+        data.applySpecialUnlock(category);
+    }
 
-        // Identify tool type by class
-        if (stack.getItem() instanceof net.minecraft.item.PickaxeItem) return "pickaxe";
-        if (stack.getItem() instanceof net.minecraft.item.AxeItem) return "axe";
-        if (stack.getItem() instanceof net.minecraft.item.ShovelItem) return "shovel";
-        if (stack.getItem() instanceof net.minecraft.item.HoeItem) return "hoe";
-        if (stack.getItem() instanceof net.minecraft.item.ShearsItem) return "shears";
+    // Checks for level-ups against the last notified levels
+    private static void notifyLevelUps(ServerPlayerEntity player, ProficiencyData data, long itemId, @Nullable Text itemName,
+                                       String category) {
+        ProficiencyData.Progress categoryProgress = data.getType(category);
+        if (categoryProgress != null && categoryProgress.consumeLevelUp()) {
+            LevelUpNotifications.queue(player, LevelUpNotifications.getCategoryName(category), categoryProgress.level);
+        }
+        if (itemId == ProficiencyData.NO_ITEM_ID) return;
 
-        return null;
+        ProficiencyData.Progress itemProgress = data.getItem(itemId);
+        if (itemProgress != null && itemProgress.consumeLevelUp()) {
+            LevelUpNotifications.queue(player, itemName, itemProgress.level);
+        }
     }
 
+
     /**
      * Identifies weapon type for combat actions.
      */
-    private static String getWeaponType(ItemStack stack) {
+    public static String getWeaponType(ItemStack stack) {
         if (stack.getItem() instanceof net.minecraft.item.SwordItem) return "sword";
         if (stack.getItem() instanceof net.minecraft.item.TridentItem) return "trident";
         if (stack.getItem() instanceof net.minecraft.item.BowItem) return "bow";
@@ -206,21 +284,4 @@ public class ProficiencyEvents {
 
         return null;
     }
-
-    /**
-     * Capitalizes first letter of a string for display.
-     */
-    private static String capitalize(String str) {
-        if (str == null || str.isEmpty()) return str;
-        return str.substring(0, 1).toUpperCase() + str.substring(1).toLowerCase();
-    }
-
-    /**
-     * Formats ProficiencyLevel enum to readable string.
-     * Example: BASIC -> "Basic", EXPERIENCED -> "Experienced"
-     */
-    private static String formatLevelName(ProficiencyLevel level) {
-        String name = level.name();
-        return name.substring(0, 1).toUpperCase() + name.substring(1).toLowerCase();
-    }
-}
\ No newline at end of file
+}
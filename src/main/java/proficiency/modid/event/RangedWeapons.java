@@ -0,0 +1,71 @@
+package proficiency.modid.event;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.Nullable;
+import proficiency.modid.proficiency.ProficiencyData;
+
+/**
+ * Tags projectiles with the weapon that fired them.
+ * Weapon mixins mark the weapon as "firing" for the duration of the vanilla shoot method,
+ * and any projectile constructed in that window and owned by the same player is tagged with it.
+ * The weapon mixins run on both sides, but only server players start firing, so the client thread never sees
+ * (or changes) the server's state in singleplayer.
+ */
+public final class RangedWeapons {
+
+    private static ServerPlayerEntity firingShooter;
+    private static ItemStack firingWeapon;
+    private static String firingCategory;
+    private static int firingTick;
+
+    private RangedWeapons() {}
+
+    public static void register() {
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> clear());
+    }
+
+    /**
+     * Marks a weapon as firing. Ignored for non-players and on the client.
+     */
+    public static void beginFiring(LivingEntity shooter, ItemStack weapon, String category) {
+        if (shooter instanceof ServerPlayerEntity player && !weapon.isEmpty()) {
+            firingShooter = player;
+            firingWeapon = weapon;
+            firingCategory = category;
+            firingTick = player.getServer().getTicks();
+        }
+    }
+
+    /**
+     * Ends the firing window started by the same shooter. Ignored for anyone else, including client players.
+     */
+    public static void endFiring(LivingEntity shooter) {
+        if (shooter == firingShooter) clear();
+    }
+
+    /**
+     * Called when a projectile is constructed, tags it if its owner is currently firing a tracked weapon.
+     * A window left open by an exception in the shoot method is ignored after the tick it was opened in.
+     */
+    public static void tagProjectile(Entity projectile, @Nullable Entity owner) {
+        if (firingShooter == null || owner != firingShooter || projectile.getWorld().isClient
+                || !(projectile instanceof TrackedProjectile tracked)) return;
+        if (firingTick != firingShooter.getServer().getTicks()) {
+            clear();
+            return;
+        }
+
+        tracked.setProficiencyWeapon(ProficiencyData.ensureItemId(firingWeapon), firingWeapon.getItem(),
+                firingWeapon.getName(), firingCategory);
+    }
+
+    private static void clear() {
+        firingShooter = null;
+        firingWeapon = null;
+        firingCategory = null;
+    }
+}
@@ -0,0 +1,128 @@
+package proficiency.modid.event;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.scoreboard.ScoreboardCriterion;
+import net.minecraft.scoreboard.ScoreboardObjective;
+import net.minecraft.scoreboard.ScoreboardPlayerScore;
+import net.minecraft.scoreboard.ServerScoreboard;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.config.ProficiencyConfig;
+import proficiency.modid.proficiency.ItemCategories;
+import proficiency.modid.proficiency.ProficiencyData;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Mirrors category points and levels into dummy scoreboard objectives, for datapacks and sidebars.
+ * Objective names are limited to 16 characters, so they're "prof.<category>" for points and "plvl.<category>"
+ * for level ordinals, e.g. prof.pickaxe.
+ *
+ * Players are marked dirty by ProficiencyComponents.sync, and every scoreboardUpdateIntervalTicks each dirty player's
+ * scores are compared with the scoreboard and only the changed ones are set. Vanilla only sends score packets
+ * for objectives shown in a display slot, so hidden objectives cost no network traffic.
+ */
+public final class ScoreboardMirror {
+
+    private static final String POINTS_PREFIX = "prof.";
+    private static final String LEVEL_PREFIX = "plvl.";
+
+    // Fixed order, so objectives can be held in arrays
+    private static final String[] CATEGORIES = ItemCategories.all().stream().sorted().toArray(String[]::new);
+
+    // Created on first flush, null while mirroring is off
+    private static ScoreboardObjective[] pointObjectives;
+    private static ScoreboardObjective[] levelObjectives;
+
+    private static final Set<UUID> DIRTY = new LinkedHashSet<>();
+
+    private ScoreboardMirror() {}
+
+    public static void register() {
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> markDirty(handler.player));
+        ServerTickEvents.END_SERVER_TICK.register(ScoreboardMirror::onServerTick);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            pointObjectives = null;
+            levelObjectives = null;
+            DIRTY.clear();
+        });
+    }
+
+    /**
+     * Marks a player's scores as possibly changed, so they're compared on the next flush.
+     */
+    public static void markDirty(ServerPlayerEntity player) {
+        if (ProficiencyConfig.get().enableScoreboardMirror) DIRTY.add(player.getUuid());
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        ProficiencyConfig config = ProficiencyConfig.get();
+        if (DIRTY.isEmpty() || TickBudget.isDegraded()
+                || server.getTicks() % Math.max(1, config.scoreboardUpdateIntervalTicks) != 0) return;
+
+        ServerScoreboard scoreboard = server.getScoreboard();
+        if (pointObjectives == null || objectivesRemoved(scoreboard)) createObjectives(scoreboard);
+
+        for (UUID id : DIRTY) {
+            ServerPlayerEntity player = server.getPlayerManager().getPlayer(id);
+            if (player != null) update(scoreboard, player, config.scoreboardMirrorLevels);
+        }
+        DIRTY.clear();
+    }
+
+    private static void update(ServerScoreboard scoreboard, ServerPlayerEntity player, boolean levels) {
+        ProficiencyData data = ProficiencyComponents.getProficiency().get(player);
+        String holder = player.getEntityName();
+
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            ProficiencyData.Progress progress = data.getType(CATEGORIES[i]);
+            if (progress == null) continue; // No score until the category is first used
+
+            setIfChanged(scoreboard, holder, pointObjectives[i], (int) Math.min(progress.points, Integer.MAX_VALUE));
+            if (levels) {
+                setIfChanged(scoreboard, holder, levelObjectives[i], progress.level.ordinal());
+            }
+        }
+    }
+
+    private static void setIfChanged(ServerScoreboard scoreboard, String holder, ScoreboardObjective objective, int value) {
+        ScoreboardPlayerScore score = scoreboard.getPlayerScore(holder, objective);
+        if (score.getScore() != value) score.setScore(value);
+    }
+
+    private static void createObjectives(ServerScoreboard scoreboard) {
+        pointObjectives = new ScoreboardObjective[CATEGORIES.length];
+        levelObjectives = new ScoreboardObjective[CATEGORIES.length];
+
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            Text name = LevelUpNotifications.getCategoryName(CATEGORIES[i]);
+            pointObjectives[i] = getOrAdd(scoreboard, POINTS_PREFIX + CATEGORIES[i],
+                    Text.translatable("scoreboard.proficiency.points", name));
+            levelObjectives[i] = getOrAdd(scoreboard, LEVEL_PREFIX + CATEGORIES[i],
+                    Text.translatable("scoreboard.proficiency.level", name));
+        }
+    }
+
+    // Objectives can be removed with /scoreboard, they're added back on the next flush
+    private static boolean objectivesRemoved(ServerScoreboard scoreboard) {
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            if (scoreboard.getNullableObjective(pointObjectives[i].getName()) != pointObjectives[i]
+                    || scoreboard.getNullableObjective(levelObjectives[i].getName()) != levelObjectives[i]) return true;
+        }
+        return false;
+    }
+
+    // Objectives are saved with the world, so they usually exist already
+    private static ScoreboardObjective getOrAdd(ServerScoreboard scoreboard, String name, Text displayName) {
+        ScoreboardObjective objective = scoreboard.getNullableObjective(name);
+        if (objective != null) return objective;
+
+        return scoreboard.addObjective(name, ScoreboardCriterion.DUMMY, displayName, ScoreboardCriterion.RenderType.INTEGER);
+    }
+}
@@ -0,0 +1,23 @@
+package proficiency.modid.event;
+
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.config.ProficiencyConfig;
+
+/**
+ * Skill decay is worked out from timestamps whenever an entry is accessed, never on a timer:
+ *  - Awards and lookups decay the entries they touch (see ProficiencyData)
+ *  - Every sync first decays the decoded entries it's about to send (see ProficiencyComponents.sync)
+ *
+ * The only hook here is the join, which syncs once so the client starts with decayed category levels.
+ */
+public final class SkillDecay {
+
+    private SkillDecay() {}
+
+    public static void register() {
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            if (ProficiencyConfig.get().enableDecay) ProficiencyComponents.sync(handler.player);
+        });
+    }
+}
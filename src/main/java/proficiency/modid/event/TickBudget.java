@@ -0,0 +1,83 @@
+package proficiency.modid.event;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+import proficiency.modid.Proficiency;
+import proficiency.modid.config.ProficiencyConfig;
+
+import java.util.Arrays;
+
+/**
+ * Watches recent server tick times and switches proficiency into degraded mode while the server is overloaded.
+ * Uses the average of the last second of ticks, with separate thresholds for entering and leaving degraded mode
+ * so a server hovering around one threshold doesn't flip every tick.
+ *
+ * See DeferredWork for what changes while degraded.
+ */
+public final class TickBudget {
+
+    // Ticks averaged, one second at 20 TPS
+    private static final int WINDOW = 20;
+
+    private static final long[] TICK_NANOS = new long[WINDOW];
+    private static long windowTotal;
+    private static int index;
+    private static int filled;
+
+    private static long tickStart;
+    private static boolean degraded;
+
+    private TickBudget() {}
+
+    public static void register() {
+        ServerTickEvents.START_SERVER_TICK.register(server -> tickStart = System.nanoTime());
+        ServerTickEvents.END_SERVER_TICK.register(TickBudget::onTickEnd);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> reset());
+    }
+
+    /**
+     * @return true while proficiency work should be deferred
+     */
+    public static boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * Gets the average tick time over the last second, in milliseconds.
+     */
+    public static double getAverageMspt() {
+        return filled == 0 ? 0 : windowTotal / (double) filled / 1_000_000.0;
+    }
+
+    private static void onTickEnd(MinecraftServer server) {
+        long nanos = System.nanoTime() - tickStart;
+        windowTotal += nanos - TICK_NANOS[index];
+        TICK_NANOS[index] = nanos;
+        index = (index + 1) % WINDOW;
+        if (filled < WINDOW) filled++;
+
+        ProficiencyConfig config = ProficiencyConfig.get();
+        if (!config.enableLoadShedding) {
+            degraded = false;
+            return;
+        }
+
+        double mspt = getAverageMspt();
+        if (!degraded && filled == WINDOW && mspt > config.degradedMsptThreshold) {
+            degraded = true;
+            Proficiency.LOGGER.info("Server overloaded ({} mspt), deferring proficiency work", String.format("%.1f", mspt));
+        } else if (degraded && mspt < config.recoveredMsptThreshold) {
+            degraded = false;
+            Proficiency.LOGGER.info("Server recovered ({} mspt), catching up on deferred proficiency work", String.format("%.1f", mspt));
+        }
+    }
+
+    private static void reset() {
+        Arrays.fill(TICK_NANOS, 0);
+        windowTotal = 0;
+        index = 0;
+        filled = 0;
+        degraded = false;
+    }
+}
@@ -0,0 +1,25 @@
+package proficiency.modid.event;
+
+import net.minecraft.item.Item;
+import net.minecraft.text.Text;
+
+/**
+ * Implemented on projectiles (via mixin) to remember which weapon fired them.
+ * Lets a hit award the bow, crossbow or trident even after the player has switched items.
+ */
+public interface TrackedProjectile {
+
+    void setProficiencyWeapon(long weaponId, Item weaponItem, Text weaponName, String category);
+
+    /**
+     * @return Tracking id of the weapon that fired this projectile, or ProficiencyData.NO_ITEM_ID if it wasn't fired
+     * by a tracked weapon
+     */
+    long getProficiencyWeaponId();
+
+    Item getProficiencyWeaponItem();
+
+    Text getProficiencyWeaponName();
+
+    String getProficiencyCategory();
+}
@@ -0,0 +1,38 @@
+package proficiency.modid.mixin;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.screen.AnvilScreenHandler;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import proficiency.modid.config.ProficiencyConfig;
+import proficiency.modid.event.ItemTransfers;
+
+/**
+ * Mixin to apply the anvil item rule when two items are combined.
+ * Slots: 0 = left input (copied to the result), 1 = right input, 2 = result.
+ */
+@Mixin(AnvilScreenHandler.class)
+public class AnvilScreenHandlerMixin {
+
+    @Inject(method = "updateResult", at = @At("TAIL"))
+    private void prepareResult(CallbackInfo ci) {
+        ScreenHandler handler = (ScreenHandler) (Object) this;
+        ItemTransfers.prepareResult(handler.getSlot(2).getStack(), ProficiencyConfig.get().anvilItemRule,
+                handler.getSlot(0).getStack(), handler.getSlot(1).getStack());
+    }
+
+    // Runs before the inputs are used up
+    @Inject(method = "onTakeOutput", at = @At("HEAD"))
+    private void onTakeOutput(PlayerEntity player, ItemStack stack, CallbackInfo ci) {
+        if (!(player instanceof ServerPlayerEntity serverPlayer)) return;
+
+        ScreenHandler handler = (ScreenHandler) (Object) this;
+        ItemTransfers.onTaken(serverPlayer, ProficiencyConfig.get().anvilItemRule,
+                handler.getSlot(0).getStack(), handler.getSlot(1).getStack());
+    }
+}
@@ -0,0 +1,29 @@
+package proficiency.modid.mixin;
+
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.item.BowItem;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import proficiency.modid.event.RangedWeapons;
+
+/**
+ * Mixin to mark the bow as firing while vanilla creates its projectile,
+ * so the projectile can be tagged with the bow's proficiency tracking id.
+ */
+@Mixin(BowItem.class)
+public class BowItemMixin {
+
+    @Inject(method = "onStoppedUsing", at = @At("HEAD"))
+    private void beginFiring(ItemStack stack, World world, LivingEntity user, int remainingUseTicks, CallbackInfo ci) {
+        RangedWeapons.beginFiring(user, stack, "bow");
+    }
+
+    @Inject(method = "onStoppedUsing", at = @At("RETURN"))
+    private void endFiring(ItemStack stack, World world, LivingEntity user, int remainingUseTicks, CallbackInfo ci) {
+        RangedWeapons.endFiring(user);
+    }
+}
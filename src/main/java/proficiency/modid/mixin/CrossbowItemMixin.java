@@ -0,0 +1,32 @@
+package proficiency.modid.mixin;
+
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.item.CrossbowItem;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.Hand;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import proficiency.modid.event.RangedWeapons;
+
+/**
+ * Mixin to mark the crossbow as firing while vanilla creates its projectiles,
+ * so each projectile (including multishot and firework rockets) can be tagged with the crossbow's proficiency tracking id.
+ */
+@Mixin(CrossbowItem.class)
+public class CrossbowItemMixin {
+
+    @Inject(method = "shootAll", at = @At("HEAD"))
+    private static void beginFiring(World world, LivingEntity entity, Hand hand, ItemStack stack,
+                                    float speed, float divergence, CallbackInfo ci) {
+        RangedWeapons.beginFiring(entity, stack, "crossbow");
+    }
+
+    @Inject(method = "shootAll", at = @At("RETURN"))
+    private static void endFiring(World world, LivingEntity entity, Hand hand, ItemStack stack,
+                                  float speed, float divergence, CallbackInfo ci) {
+        RangedWeapons.endFiring(entity);
+    }
+}
@@ -0,0 +1,66 @@
+package proficiency.modid.mixin;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.projectile.FireworkRocketEntity;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.text.Text;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import proficiency.modid.event.RangedWeapons;
+import proficiency.modid.event.TrackedProjectile;
+
+/**
+ * Mixin to remember which crossbow fired a firework rocket.
+ * Only rockets created by the crossbow's shoot method are tagged, not rockets used to fly with an elytra.
+ */
+@Mixin(FireworkRocketEntity.class)
+public class FireworkRocketMixin implements TrackedProjectile {
+
+    @Unique
+    private long weaponId;
+    @Unique
+    private Item weaponItem;
+    @Unique
+    private Text weaponName;
+    @Unique
+    private String weaponCategory;
+
+    @Inject(method = "<init>(Lnet/minecraft/world/World;Lnet/minecraft/item/ItemStack;Lnet/minecraft/entity/Entity;DDDZ)V",
+            at = @At("TAIL"))
+    private void onShotByCrossbow(World world, ItemStack stack, Entity entity, double x, double y, double z, boolean shotAtAngle, CallbackInfo ci) {
+        RangedWeapons.tagProjectile((FireworkRocketEntity) (Object) this, entity);
+    }
+
+    @Override
+    public void setProficiencyWeapon(long weaponId, Item weaponItem, Text weaponName, String category) {
+        this.weaponId = weaponId;
+        this.weaponItem = weaponItem;
+        this.weaponName = weaponName;
+        this.weaponCategory = category;
+    }
+
+    @Override
+    public long getProficiencyWeaponId() {
+        return this.weaponId;
+    }
+
+    @Override
+    public Item getProficiencyWeaponItem() {
+        return this.weaponItem;
+    }
+
+    @Override
+    public Text getProficiencyWeaponName() {
+        return this.weaponName;
+    }
+
+    @Override
+    public String getProficiencyCategory() {
+        return this.weaponCategory;
+    }
+}
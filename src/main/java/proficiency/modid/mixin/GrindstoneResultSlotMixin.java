@@ -0,0 +1,30 @@
+package proficiency.modid.mixin;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.screen.GrindstoneScreenHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import proficiency.modid.config.ProficiencyConfig;
+import proficiency.modid.event.ItemTransfers;
+
+/**
+ * Mixin to apply the grindstone item rule when the result is taken.
+ * The result slot is an anonymous class, so the handler is reached through the player's open screen.
+ */
+@Mixin(targets = "net.minecraft.screen.GrindstoneScreenHandler$4")
+public class GrindstoneResultSlotMixin {
+
+    // Runs before the inputs are cleared
+    @Inject(method = "onTakeItem", at = @At("HEAD"))
+    private void onTakeItem(PlayerEntity player, ItemStack stack, CallbackInfo ci) {
+        if (!(player instanceof ServerPlayerEntity serverPlayer)
+                || !(player.currentScreenHandler instanceof GrindstoneScreenHandler handler)) return;
+
+        ItemTransfers.onTaken(serverPlayer, ProficiencyConfig.get().grindstoneItemRule,
+                handler.getSlot(0).getStack(), handler.getSlot(1).getStack());
+    }
+}
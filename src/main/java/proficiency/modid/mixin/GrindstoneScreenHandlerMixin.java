@@ -0,0 +1,25 @@
+package proficiency.modid.mixin;
+
+import net.minecraft.screen.GrindstoneScreenHandler;
+import net.minecraft.screen.ScreenHandler;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import proficiency.modid.config.ProficiencyConfig;
+import proficiency.modid.event.ItemTransfers;
+
+/**
+ * Mixin to apply the grindstone item rule to the result, see GrindstoneResultSlotMixin for taking it.
+ * Slots: 0 = top input, 1 = bottom input, 2 = result. The result is copied from the top input if there is one.
+ */
+@Mixin(GrindstoneScreenHandler.class)
+public class GrindstoneScreenHandlerMixin {
+
+    @Inject(method = "updateResult", at = @At("TAIL"))
+    private void prepareResult(CallbackInfo ci) {
+        ScreenHandler handler = (ScreenHandler) (Object) this;
+        ItemTransfers.prepareResult(handler.getSlot(2).getStack(), ProficiencyConfig.get().grindstoneItemRule,
+                handler.getSlot(0).getStack(), handler.getSlot(1).getStack());
+    }
+}
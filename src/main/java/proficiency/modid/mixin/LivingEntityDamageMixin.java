@@ -0,0 +1,68 @@
+package proficiency.modid.mixin;
+
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.damage.DamageSource;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import proficiency.modid.event.ProficiencyEvents;
+
+/**
+ * Mixin to track weapon proficiency from damage actually dealt by players.
+ * Hits absorbed by invulnerability frames or cancelled by other mods award nothing.
+ * A kill during a hit is awarded together with the hit, so a killing blow is only synced once.
+ */
+@Mixin(LivingEntity.class)
+public class LivingEntityDamageMixin {
+
+    @Unique
+    private float healthBeforeDamage;
+
+    @Unique
+    private boolean takingDamage;
+
+    @Unique
+    private boolean killedByDamage;
+
+    @Inject(method = "damage", at = @At("HEAD"))
+    private void captureHealth(DamageSource source, float amount, CallbackInfoReturnable<Boolean> cir) {
+        this.healthBeforeDamage = ((LivingEntity) (Object) this).getHealth();
+        this.takingDamage = true;
+        this.killedByDamage = false;
+    }
+
+    @Inject(method = "damage", at = @At("RETURN"))
+    private void onDamageDealt(DamageSource source, float amount, CallbackInfoReturnable<Boolean> cir) {
+        LivingEntity target = (LivingEntity) (Object) this;
+        this.takingDamage = false;
+
+        // Server-side only, damage must have been applied and dealt by a player
+        if (!cir.getReturnValueZ() || target.getWorld().isClient || !(source.getAttacker() instanceof ServerPlayerEntity player)) {
+            return;
+        }
+
+        // Use the health actually lost, so armour and overkill are accounted for
+        float damageDealt = this.healthBeforeDamage - target.getHealth();
+        ProficiencyEvents.onDamageDealt(player, target, source, damageDealt, this.killedByDamage);
+    }
+
+    @Inject(method = "onDeath", at = @At("HEAD"))
+    private void onKilled(DamageSource source, CallbackInfo ci) {
+        LivingEntity target = (LivingEntity) (Object) this;
+
+        if (target.getWorld().isClient || !(source.getAttacker() instanceof ServerPlayerEntity player)) {
+            return;
+        }
+
+        if (this.takingDamage) {
+            // Awarded with the hit when damage returns
+            this.killedByDamage = true;
+        } else {
+            ProficiencyEvents.onDamageDealt(player, target, source, 0, true);
+        }
+    }
+}
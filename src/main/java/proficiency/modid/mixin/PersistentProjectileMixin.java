@@ -0,0 +1,66 @@
+package proficiency.modid.mixin;
+
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.projectile.PersistentProjectileEntity;
+import net.minecraft.item.Item;
+import net.minecraft.text.Text;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import proficiency.modid.event.RangedWeapons;
+import proficiency.modid.event.TrackedProjectile;
+
+/**
+ * Mixin to remember which weapon fired an arrow or trident.
+ * Hits are awarded from the damage path, this only stores the weapon.
+ */
+@Mixin(PersistentProjectileEntity.class)
+public class PersistentProjectileMixin implements TrackedProjectile {
+
+    @Unique
+    private long weaponId;
+    @Unique
+    private Item weaponItem;
+    @Unique
+    private Text weaponName;
+    @Unique
+    private String weaponCategory;
+
+    @Inject(method = "<init>(Lnet/minecraft/entity/EntityType;Lnet/minecraft/entity/LivingEntity;Lnet/minecraft/world/World;)V",
+            at = @At("TAIL"))
+    private void onCreatedByShooter(EntityType<? extends PersistentProjectileEntity> type, LivingEntity owner, World world, CallbackInfo ci) {
+        RangedWeapons.tagProjectile((PersistentProjectileEntity) (Object) this, owner);
+    }
+
+    @Override
+    public void setProficiencyWeapon(long weaponId, Item weaponItem, Text weaponName, String category) {
+        this.weaponId = weaponId;
+        this.weaponItem = weaponItem;
+        this.weaponName = weaponName;
+        this.weaponCategory = category;
+    }
+
+    @Override
+    public long getProficiencyWeaponId() {
+        return this.weaponId;
+    }
+
+    @Override
+    public Item getProficiencyWeaponItem() {
+        return this.weaponItem;
+    }
+
+    @Override
+    public Text getProficiencyWeaponName() {
+        return this.weaponName;
+    }
+
+    @Override
+    public String getProficiencyCategory() {
+        return this.weaponCategory;
+    }
+}
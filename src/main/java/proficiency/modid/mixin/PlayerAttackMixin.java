@@ -0,0 +1,40 @@
+package proficiency.modid.mixin;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import proficiency.modid.event.MeleeAttacks;
+
+/**
+ * Mixin to collect the points from each melee attack and award them once, see MeleeAttacks.
+ * Vanilla only spawns crit particles once a critical hit has landed, so that call marks a successful crit.
+ */
+@Mixin(PlayerEntity.class)
+public class PlayerAttackMixin {
+
+    @Inject(method = "attack", at = @At("HEAD"))
+    private void beginAttack(Entity target, CallbackInfo ci) {
+        if ((Object) this instanceof ServerPlayerEntity player) {
+            MeleeAttacks.begin(player);
+        }
+    }
+
+    @Inject(method = "attack",
+            at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/player/PlayerEntity;addCritParticles(Lnet/minecraft/entity/Entity;)V"))
+    private void onCriticalHit(Entity target, CallbackInfo ci) {
+        if ((Object) this instanceof ServerPlayerEntity player) {
+            MeleeAttacks.onCriticalHit(player);
+        }
+    }
+
+    @Inject(method = "attack", at = @At("RETURN"))
+    private void endAttack(Entity target, CallbackInfo ci) {
+        if ((Object) this instanceof ServerPlayerEntity player) {
+            MeleeAttacks.end(player);
+        }
+    }
+}
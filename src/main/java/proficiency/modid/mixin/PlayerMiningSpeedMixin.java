@@ -0,0 +1,34 @@
+package proficiency.modid.mixin;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.player.PlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.proficiency.ItemCategories;
+import proficiency.modid.proficiency.ProficiencyData;
+
+/**
+ * Mixin to apply the held tool category's mining speed bonus.
+ * Runs on both sides so client and server agree on break times, reads only the cached modifiers.
+ * The client resolves the tool through the same lazily built ItemCategories table and its synced category levels,
+ * which are never held back by DeferredWork, and uses the server's mining speed setting from CurveSyncPayload.
+ */
+@Mixin(PlayerEntity.class)
+public class PlayerMiningSpeedMixin {
+
+    @Inject(method = "getBlockBreakingSpeed", at = @At("RETURN"), cancellable = true)
+    private void applyMiningSpeed(BlockState block, CallbackInfoReturnable<Float> cir) {
+        PlayerEntity player = (PlayerEntity) (Object) this;
+
+        String toolType = ItemCategories.getToolCategory(player.getMainHandStack());
+        if (toolType == null) return;
+
+        ProficiencyData data = ProficiencyComponents.getProficiency().getNullable(player);
+        if (data != null) {
+            cir.setReturnValue(cir.getReturnValueF() * data.getModifiers().getMiningSpeed(toolType));
+        }
+    }
+}
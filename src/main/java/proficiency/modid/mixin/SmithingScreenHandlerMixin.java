@@ -0,0 +1,38 @@
+package proficiency.modid.mixin;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.screen.SmithingScreenHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import proficiency.modid.config.ProficiencyConfig;
+import proficiency.modid.event.ItemTransfers;
+
+/**
+ * Mixin to apply the smithing item rule when an item is upgraded, e.g. diamond to netherite.
+ * Slots: 0 = template, 1 = base (copied to the result), 2 = addition, 3 = result.
+ */
+@Mixin(SmithingScreenHandler.class)
+public class SmithingScreenHandlerMixin {
+
+    @Inject(method = "updateResult", at = @At("TAIL"))
+    private void prepareResult(CallbackInfo ci) {
+        ScreenHandler handler = (ScreenHandler) (Object) this;
+        ItemTransfers.prepareResult(handler.getSlot(3).getStack(), ProficiencyConfig.get().smithingItemRule,
+                handler.getSlot(1).getStack(), handler.getSlot(2).getStack());
+    }
+
+    // Runs before the inputs are used up
+    @Inject(method = "onTakeOutput", at = @At("HEAD"))
+    private void onTakeOutput(PlayerEntity player, ItemStack stack, CallbackInfo ci) {
+        if (!(player instanceof ServerPlayerEntity serverPlayer)) return;
+
+        ScreenHandler handler = (ScreenHandler) (Object) this;
+        ItemTransfers.onTaken(serverPlayer, ProficiencyConfig.get().smithingItemRule,
+                handler.getSlot(1).getStack(), handler.getSlot(2).getStack());
+    }
+}
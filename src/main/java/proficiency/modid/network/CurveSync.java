@@ -0,0 +1,98 @@
+package proficiency.modid.network;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.S2CPlayChannelEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import proficiency.modid.proficiency.ProficiencyCurves;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Server side of CurveSyncPayload. The payload is only a few hundred bytes, so it's built for each request
+ * rather than cached, and always matches the current config. Its hash is sent again whenever the curves are
+ * invalidated (config loaded or saved), and each connection gets the payload at most once per hash.
+ * Server thread only.
+ */
+public final class CurveSync {
+
+    // Last hash each player was sent the payload for, further requests for it are ignored
+    private static final Map<UUID, String> ANSWERED = new HashMap<>();
+
+    // Hash of the current curves, recalculated after they're invalidated
+    private static int hashVersion;
+    private static String hash;
+
+    // Curves version and hash last pushed to connected players
+    private static int pushedVersion;
+    private static String pushedHash;
+
+    private CurveSync() {}
+
+    public static void register() {
+        // Sent once the client says it can receive it, clients without the mod are skipped
+        S2CPlayChannelEvents.REGISTER.register((handler, sender, server, channels) -> {
+            if (channels.contains(CurveSyncPayload.HASH_ID)) {
+                server.execute(() -> sendHash(handler.player));
+            }
+        });
+        ServerPlayNetworking.registerGlobalReceiver(CurveSyncPayload.REQUEST_ID,
+                (server, player, handler, buf, responseSender) -> server.execute(() -> onRequest(player)));
+
+        ServerTickEvents.END_SERVER_TICK.register(CurveSync::tick);
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> server.execute(() -> ANSWERED.remove(handler.player.getUuid())));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            ANSWERED.clear();
+            hash = null;
+            pushedHash = null;
+        });
+    }
+
+    // Tells every mod client about new curves once they've been invalidated
+    private static void tick(MinecraftServer server) {
+        int version = ProficiencyCurves.getVersion();
+        if (pushedHash != null && version == pushedVersion) return;
+
+        String previous = pushedHash;
+        pushedVersion = version;
+        pushedHash = getHash();
+        // Players already connected when the server started were sent the hash when they registered the channel
+        if (previous == null || previous.equals(pushedHash)) return;
+
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            if (ServerPlayNetworking.canSend(player, CurveSyncPayload.HASH_ID)) sendHash(player);
+        }
+    }
+
+    // The hash is only recalculated after the curves have been invalidated
+    private static String getHash() {
+        int version = ProficiencyCurves.getVersion();
+        if (hash == null || hashVersion != version) {
+            hash = CurveSyncPayload.hash(CurveSyncPayload.fromLocal().toBytes());
+            hashVersion = version;
+        }
+        return hash;
+    }
+
+    private static void sendHash(ServerPlayerEntity player) {
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeString(getHash());
+        ServerPlayNetworking.send(player, CurveSyncPayload.HASH_ID, buf);
+    }
+
+    private static void onRequest(ServerPlayerEntity player) {
+        String current = getHash();
+        if (current.equals(ANSWERED.put(player.getUuid(), current))) return;
+
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeByteArray(CurveSyncPayload.fromLocal().toBytes());
+        ServerPlayNetworking.send(player, CurveSyncPayload.PAYLOAD_ID, buf);
+    }
+}
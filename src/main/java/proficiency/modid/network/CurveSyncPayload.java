@@ -0,0 +1,116 @@
+package proficiency.modid.network;
+
+import com.google.common.hash.Hashing;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+import proficiency.modid.Proficiency;
+import proficiency.modid.proficiency.ItemCategories;
+import proficiency.modid.proficiency.ProficiencyCurves;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The server's compiled progression curves and category groups, so clients show the server's thresholds
+ * rather than their own config's, and its mining speed setting, so clients predict the same break times.
+ *
+ * Sent in three steps, see CurveSync and ClientCurveSync:
+ *  - HASH_ID: on join, the server sends the hash of its payload
+ *  - REQUEST_ID: the client asks for the payload only if it has no cached copy with that hash
+ *  - PAYLOAD_ID: the server sends the payload, which the client caches on disk by hash
+ */
+public record CurveSyncPayload(Map<String, String> groups, long[] tools, long[] weapons, long[] armour,
+                               double miningSpeedPerLevel) {
+
+    public static final Identifier HASH_ID = new Identifier(Proficiency.MOD_ID, "curves_hash");
+    public static final Identifier REQUEST_ID = new Identifier(Proficiency.MOD_ID, "curves_request");
+    public static final Identifier PAYLOAD_ID = new Identifier(Proficiency.MOD_ID, "curves");
+
+    // Bumped whenever the layout changes, so old cached payloads get a different hash
+    private static final int FORMAT = 2;
+
+    /**
+     * Builds the payload from this side's current curves.
+     */
+    public static CurveSyncPayload fromLocal() {
+        // Sorted, so the same curves always give the same bytes and hash
+        Map<String, String> groups = new TreeMap<>();
+        for (String category : ItemCategories.all()) {
+            groups.put(category, ProficiencyCurves.getGroup(category));
+        }
+
+        return new CurveSyncPayload(groups,
+                ProficiencyCurves.forGroup(ProficiencyCurves.TOOLS).getThresholds(),
+                ProficiencyCurves.forGroup(ProficiencyCurves.WEAPONS).getThresholds(),
+                ProficiencyCurves.forGroup(ProficiencyCurves.ARMOUR).getThresholds(),
+                ProficiencyCurves.getMiningSpeedPerLevel());
+    }
+
+    public byte[] toBytes() {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        buf.writeVarInt(FORMAT);
+
+        buf.writeVarInt(groups.size());
+        groups.forEach((category, group) -> {
+            buf.writeString(category);
+            buf.writeString(group);
+        });
+        writeThresholds(buf, tools);
+        writeThresholds(buf, weapons);
+        writeThresholds(buf, armour);
+        buf.writeDouble(miningSpeedPerLevel);
+
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * @throws IllegalArgumentException If the bytes aren't a payload in the current format
+     */
+    public static CurveSyncPayload fromBytes(byte[] bytes) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.wrappedBuffer(bytes));
+        try {
+            if (buf.readVarInt() != FORMAT) throw new IllegalArgumentException("Unknown curve payload format");
+
+            Map<String, String> groups = new TreeMap<>();
+            int size = buf.readVarInt();
+            for (int i = 0; i < size; i++) {
+                groups.put(buf.readString(), buf.readString());
+            }
+            return new CurveSyncPayload(groups, readThresholds(buf), readThresholds(buf), readThresholds(buf), buf.readDouble());
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated curve payload", e);
+        }
+    }
+
+    /**
+     * Content hash of an encoded payload, used as its cache key.
+     */
+    public static String hash(byte[] bytes) {
+        return Hashing.sha256().hashBytes(bytes).toString();
+    }
+
+    /**
+     * Uses these curves on this side until ProficiencyCurves.clearServerCurves is called.
+     */
+    public void apply() {
+        ProficiencyCurves.setServerCurves(groups, tools, weapons, armour, miningSpeedPerLevel);
+    }
+
+    private static void writeThresholds(PacketByteBuf buf, long[] thresholds) {
+        buf.writeVarInt(thresholds.length);
+        for (long threshold : thresholds) {
+            buf.writeVarLong(threshold);
+        }
+    }
+
+    private static long[] readThresholds(PacketByteBuf buf) {
+        long[] thresholds = new long[buf.readVarInt()];
+        for (int i = 0; i < thresholds.length; i++) {
+            thresholds[i] = buf.readVarLong();
+        }
+        return thresholds;
+    }
+}
@@ -0,0 +1,103 @@
+package proficiency.modid.proficiency;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EmptyBlockView;
+import proficiency.modid.Proficiency;
+import proficiency.modid.config.ProficiencyConfig;
+
+/**
+ * Precomputed mining awards.
+ * Every BlockState is mapped (by raw state id) to the points it is worth and the tool category that earns them,
+ * so together with ItemCategories a block break costs a few array reads.
+ * Rebuilt when the server starts and after each datapack reload, as block tags may have changed.
+ */
+public final class BlockAwardTable {
+
+    // Indexed by raw BlockState id
+    private static int[] statePoints = new int[0];
+    private static String[] stateCategories = new String[0];
+    private static boolean[] stateNeedsTierCheck = new boolean[0];
+
+    private BlockAwardTable() {}
+
+    /**
+     * Rebuilds the table from the current block registry, block tags and config.
+     */
+    public static void rebuild() {
+        ProficiencyConfig config = ProficiencyConfig.get();
+
+        int stateCount = Block.STATE_IDS.size();
+        int[] points = new int[stateCount];
+        String[] categories = new String[stateCount];
+        boolean[] tierCheck = new boolean[stateCount];
+
+        for (BlockState state : Block.STATE_IDS) {
+            int id = Block.getRawIdFromState(state);
+            String category = getRequiredCategory(state);
+            if (category == null) continue;
+
+            categories[id] = category;
+            points[id] = calculatePoints(state, config);
+            // Tiered blocks (e.g. diamond ore) still need the tool's mining level checked
+            tierCheck[id] = state.isToolRequired();
+        }
+
+        statePoints = points;
+        stateCategories = categories;
+        stateNeedsTierCheck = tierCheck;
+
+        Proficiency.LOGGER.info("Built mining award table for {} block states", stateCount);
+    }
+
+    /**
+     * Gets the points awarded for breaking a block with a tool of the given category.
+     * @return Points to award, or 0 if the tool isn't the right one for this block
+     */
+    public static int getPoints(BlockState state, String toolCategory, ItemStack stack) {
+        int id = Block.getRawIdFromState(state);
+        if (id < 0 || id >= statePoints.length || stateCategories[id] != toolCategory) return 0;
+
+        if (stateNeedsTierCheck[id] && !stack.isSuitableFor(state)) return 0;
+
+        return statePoints[id];
+    }
+
+    /**
+     * Determines which tool category is needed to earn points from a block.
+     */
+    private static String getRequiredCategory(BlockState state) {
+        // Checked first, as vanilla leaves are also in mineable/hoe
+        if (state.isIn(BlockTags.LEAVES) || state.isIn(BlockTags.WOOL) || state.isOf(Blocks.COBWEB)) return ItemCategories.SHEARS;
+        if (state.isIn(BlockTags.PICKAXE_MINEABLE)) return ItemCategories.PICKAXE;
+        if (state.isIn(BlockTags.AXE_MINEABLE)) return ItemCategories.AXE;
+        if (state.isIn(BlockTags.SHOVEL_MINEABLE)) return ItemCategories.SHOVEL;
+        if (state.isIn(BlockTags.HOE_MINEABLE)) return ItemCategories.HOE;
+
+        return null;
+    }
+
+    /**
+     * Points scale with block hardness, with flat bonuses for ores.
+     * e.g. dirt = 1, stone = 2, diamond ore = 13 (using default config values)
+     */
+    private static int calculatePoints(BlockState state, ProficiencyConfig config) {
+        float hardness = state.getHardness(EmptyBlockView.INSTANCE, BlockPos.ORIGIN);
+        if (hardness < 0) return 0; // Unbreakable
+
+        int points = 1 + (int) Math.min(config.miningMaxHardnessPoints, Math.round(hardness * config.miningPointsPerHardness));
+
+        if (state.isIn(BlockTags.DIAMOND_ORES) || state.isIn(BlockTags.EMERALD_ORES) || state.isOf(Blocks.ANCIENT_DEBRIS)) {
+            points += config.miningRareOrePoints;
+        } else if (state.isIn(BlockTags.COAL_ORES) || state.isIn(BlockTags.IRON_ORES) || state.isIn(BlockTags.GOLD_ORES)
+                || state.isIn(BlockTags.COPPER_ORES) || state.isIn(BlockTags.LAPIS_ORES) || state.isIn(BlockTags.REDSTONE_ORES)) {
+            points += config.miningOrePoints;
+        }
+
+        return points;
+    }
+}
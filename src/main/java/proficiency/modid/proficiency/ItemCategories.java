@@ -0,0 +1,148 @@
+package proficiency.modid.proficiency;
+
+import net.minecraft.item.ArmorItem;
+import net.minecraft.item.AxeItem;
+import net.minecraft.item.BowItem;
+import net.minecraft.item.CrossbowItem;
+import net.minecraft.item.ElytraItem;
+import net.minecraft.item.FishingRodItem;
+import net.minecraft.item.HoeItem;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.PickaxeItem;
+import net.minecraft.item.ShearsItem;
+import net.minecraft.item.ShovelItem;
+import net.minecraft.item.SwordItem;
+import net.minecraft.item.TridentItem;
+import net.minecraft.registry.Registries;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maps items to their proficiency category, e.g. "pickaxe" or "helmet".
+ * Categories are resolved by class once per item and stored by raw registry id,
+ * so lookups on both the server and the client are a single array read.
+ * Category strings are shared constants and can be compared by identity.
+ */
+public final class ItemCategories {
+
+    // Tools
+    public static final String PICKAXE = "pickaxe";
+    public static final String AXE = "axe";
+    public static final String SHOVEL = "shovel";
+    public static final String HOE = "hoe";
+    public static final String SHEARS = "shears";
+    public static final String FISHING_ROD = "fishing_rod";
+
+    // Weapons
+    public static final String SWORD = "sword";
+    public static final String TRIDENT = "trident";
+    public static final String BOW = "bow";
+    public static final String CROSSBOW = "crossbow";
+
+    // Armour
+    public static final String HELMET = "helmet";
+    public static final String CHESTPLATE = "chestplate";
+    public static final String LEGGINGS = "leggings";
+    public static final String BOOTS = "boots";
+    public static final String ELYTRA = "elytra";
+
+    private static final Map<String, String> BY_NAME = Stream.of(
+            PICKAXE, AXE, SHOVEL, HOE, SHEARS, FISHING_ROD,
+            SWORD, TRIDENT, BOW, CROSSBOW,
+            HELMET, CHESTPLATE, LEGGINGS, BOOTS, ELYTRA
+    ).collect(Collectors.toUnmodifiableMap(Function.identity(), Function.identity()));
+
+    // Indexed by raw Item id, built on first use (registries are frozen by then)
+    private static volatile String[] categories;
+    private static volatile String[] toolCategories;
+
+    private ItemCategories() {}
+
+    /**
+     * Gets every category name.
+     */
+    public static Set<String> all() {
+        return BY_NAME.keySet();
+    }
+
+    /**
+     * Gets the shared constant for a category name, e.g. from another mod or a command.
+     * @return The constant, or null if there's no such category
+     */
+    public static String byName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    /**
+     * Gets the proficiency category of an item, or null if the item isn't tracked.
+     */
+    public static String getCategory(ItemStack stack) {
+        if (categories == null) build();
+        return lookup(categories, stack);
+    }
+
+    /**
+     * Gets the mining tool category of an item, or null if it isn't a mining tool.
+     */
+    public static String getToolCategory(ItemStack stack) {
+        if (toolCategories == null) build();
+        return lookup(toolCategories, stack);
+    }
+
+    private static String lookup(String[] table, ItemStack stack) {
+        int id = Registries.ITEM.getRawId(stack.getItem());
+        return id >= 0 && id < table.length ? table[id] : null;
+    }
+
+    private static void build() {
+        String[] all = new String[Registries.ITEM.size()];
+        String[] tools = new String[all.length];
+
+        for (Item item : Registries.ITEM) {
+            int id = Registries.ITEM.getRawId(item);
+            all[id] = categorize(item);
+            tools[id] = getToolType(item);
+        }
+
+        toolCategories = tools;
+        categories = all;
+    }
+
+    private static String categorize(Item item) {
+        String tool = getToolType(item);
+        if (tool != null) return tool;
+
+        if (item instanceof FishingRodItem) return FISHING_ROD;
+        if (item instanceof SwordItem) return SWORD;
+        if (item instanceof TridentItem) return TRIDENT;
+        if (item instanceof BowItem) return BOW;
+        if (item instanceof CrossbowItem) return CROSSBOW;
+        if (item instanceof ElytraItem) return ELYTRA;
+
+        if (item instanceof ArmorItem armor) {
+            return switch (armor.getType()) {
+                case HELMET -> HELMET;
+                case CHESTPLATE -> CHESTPLATE;
+                case LEGGINGS -> LEGGINGS;
+                case BOOTS -> BOOTS;
+            };
+        }
+
+        return null;
+    }
+
+    private static String getToolType(Item item) {
+        if (item instanceof PickaxeItem) return PICKAXE;
+        if (item instanceof AxeItem) return AXE;
+        if (item instanceof ShovelItem) return SHOVEL;
+        if (item instanceof HoeItem) return HOE;
+        if (item instanceof ShearsItem) return SHEARS;
+
+        return null;
+    }
+}
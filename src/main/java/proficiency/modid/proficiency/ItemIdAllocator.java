@@ -0,0 +1,131 @@
+package proficiency.modid.proficiency;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.PersistentState;
+import org.jetbrains.annotations.Nullable;
+import proficiency.modid.Proficiency;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hands out item tracking ids, a counter per world saved with the overworld's persistent state.
+ * Ids are stored on stacks as a single long tag, and are cheaper to create and compare than random UUIDs.
+ * The counter is combined with a random salt chosen once per world, so ids stay unique when several worlds share
+ * player data (see SharedFileStorage). Ids handed out before the salt existed keep their unsalted value.
+ *
+ * Stacks and player data from before ids existed use a UUID. Each legacy UUID is given an id the first time
+ * it's seen, and the mapping is saved so every stack and player entry with that UUID ends up with the same id.
+ * Server thread only.
+ */
+public final class ItemIdAllocator extends PersistentState {
+
+    // Saved as data/<NAME>.dat in the world folder
+    public static final String NAME = Proficiency.MOD_ID + "_item_ids";
+
+    // The salt takes the bits above the counter, leaving the sign bit clear so ids always save as plain digits
+    private static final int COUNTER_BITS = 36;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final int SALT_BITS = 63 - COUNTER_BITS;
+
+    @Nullable
+    private static ItemIdAllocator current;
+
+    private long salt;
+    private long lastId;
+    private final Object2LongOpenHashMap<UUID> legacyIds = new Object2LongOpenHashMap<>();
+
+    private ItemIdAllocator() {
+        this.salt = newSalt();
+    }
+
+    /**
+     * Loads the allocator for the server's worlds, called once the worlds are loaded.
+     */
+    public static void load(MinecraftServer server) {
+        current = server.getOverworld().getPersistentStateManager().getOrCreate(ItemIdAllocator::fromNbt, ItemIdAllocator::new, NAME);
+    }
+
+    public static void unload() {
+        current = null;
+    }
+
+    /**
+     * @return The allocator, or null if no server is running (e.g. on a client connected to a remote server)
+     */
+    @Nullable
+    public static ItemIdAllocator get() {
+        return current;
+    }
+
+    /**
+     * @return A new id, never ProficiencyData.NO_ITEM_ID
+     */
+    public long allocate() {
+        markDirty();
+        return toId(salt, ++lastId);
+    }
+
+    /**
+     * Picks a random salt for a world, never 0 so salted ids can't match ids from before salts existed.
+     */
+    public static long newSalt() {
+        return 1 + ThreadLocalRandom.current().nextLong((1L << SALT_BITS) - 1);
+    }
+
+    /**
+     * Combines a world's salt and counter value into an item id.
+     */
+    public static long toId(long salt, long counter) {
+        return salt << COUNTER_BITS | (counter & COUNTER_MASK);
+    }
+
+    /**
+     * Gets the id for a legacy item UUID, assigning one the first time the UUID is seen.
+     */
+    public long migrate(UUID legacyId) {
+        long id = legacyIds.getLong(legacyId);
+        if (id == ProficiencyData.NO_ITEM_ID) {
+            id = allocate();
+            legacyIds.put(legacyId, id);
+        }
+        return id;
+    }
+
+    @Override
+    public NbtCompound writeNbt(NbtCompound nbt) {
+        nbt.putLong("salt", salt);
+        nbt.putLong("lastId", lastId);
+
+        NbtCompound legacy = new NbtCompound();
+        for (Object2LongMap.Entry<UUID> entry : legacyIds.object2LongEntrySet()) {
+            legacy.putLong(entry.getKey().toString(), entry.getLongValue());
+        }
+        nbt.put("legacy", legacy);
+        return nbt;
+    }
+
+    private static ItemIdAllocator fromNbt(NbtCompound nbt) {
+        ItemIdAllocator allocator = new ItemIdAllocator();
+        allocator.lastId = nbt.getLong("lastId");
+        // Worlds saved before salts existed keep the new salt picked by the constructor
+        if (nbt.contains("salt")) {
+            allocator.salt = nbt.getLong("salt");
+        } else {
+            allocator.markDirty();
+        }
+
+        NbtCompound legacy = nbt.getCompound("legacy");
+        for (String key : legacy.getKeys()) {
+            try {
+                allocator.legacyIds.put(UUID.fromString(key), legacy.getLong(key));
+            } catch (IllegalArgumentException e) {
+                // Skip invalid UUIDs
+            }
+        }
+        return allocator;
+    }
+}
@@ -0,0 +1,131 @@
+package proficiency.modid.proficiency;
+
+import org.jetbrains.annotations.Nullable;
+import proficiency.modid.config.ProficiencyConfig;
+
+import java.util.Map;
+
+/**
+ * Holds the progression curve for each main category (tools, weapons, armour).
+ * Curves are built once from the config and rebuilt only after the config is loaded or saved.
+ * While connected to a server, the client uses the server's curves, category groups and mining speed setting instead,
+ * see CurveSyncPayload.
+ */
+public final class ProficiencyCurves {
+
+    public static final String TOOLS = "tools";
+    public static final String WEAPONS = "weapons";
+    public static final String ARMOUR = "armour";
+
+    private static volatile ProgressionCurve tools;
+    private static volatile ProgressionCurve weapons;
+    private static volatile ProgressionCurve armour;
+    // Incremented on every invalidate, so the server can tell clients when the curves may have changed
+    private static volatile int version;
+
+    private record ServerCurves(Map<String, String> groups, ProgressionCurve tools, ProgressionCurve weapons, ProgressionCurve armour,
+                                double miningSpeedPerLevel) {}
+
+    // Received from the server, only ever set on the client
+    @Nullable
+    private static volatile ServerCurves serverCurves;
+
+    private ProficiencyCurves() {}
+
+    /**
+     * Gets the curve for an item category, e.g. "pickaxe" uses the tools curve.
+     */
+    public static ProgressionCurve forCategory(String category) {
+        return forGroup(getGroup(category));
+    }
+
+    /**
+     * Gets the curve for a main category: "tools", "weapons" or "armour".
+     */
+    public static ProgressionCurve forGroup(String group) {
+        ServerCurves server = serverCurves;
+        if (server != null) {
+            return switch (group) {
+                case WEAPONS -> server.weapons();
+                case ARMOUR -> server.armour();
+                default -> server.tools();
+            };
+        }
+
+        if (tools == null) rebuild();
+
+        return switch (group) {
+            case WEAPONS -> weapons;
+            case ARMOUR -> armour;
+            default -> tools;
+        };
+    }
+
+    /**
+     * Gets the main category for an item type (tools, weapons, or armour).
+     */
+    public static String getGroup(String category) {
+        ServerCurves server = serverCurves;
+        if (server != null) {
+            String group = server.groups().get(category);
+            if (group != null) return group;
+        }
+
+        return switch (category) {
+            case "sword", "trident", "bow", "crossbow", WEAPONS -> WEAPONS;
+            case "helmet", "chestplate", "leggings", "boots", "elytra", ARMOUR -> ARMOUR;
+            default -> TOOLS; // "pickaxe", "axe", "shovel", "hoe", "shears", "fishing_rod"
+        };
+    }
+
+    /**
+     * Discards the current curves, they're rebuilt from the config on next use.
+     */
+    public static void invalidate() {
+        tools = null;
+        version++;
+    }
+
+    /**
+     * Gets a number that changes whenever the curves are invalidated.
+     */
+    public static int getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the mining speed bonus per level of the held tool's category, 0 when effects are disabled.
+     * Client and server must agree on it, otherwise break times differ and blocks reappear mid-break.
+     */
+    public static double getMiningSpeedPerLevel() {
+        ServerCurves server = serverCurves;
+        if (server != null) return server.miningSpeedPerLevel();
+
+        ProficiencyConfig config = ProficiencyConfig.get();
+        return config.enableEffects ? config.miningSpeedPerLevel : 0;
+    }
+
+    /**
+     * Uses the server's curves, category groups and mining speed until clearServerCurves is called.
+     */
+    public static void setServerCurves(Map<String, String> groups, long[] tools, long[] weapons, long[] armour,
+                                       double miningSpeedPerLevel) {
+        serverCurves = new ServerCurves(Map.copyOf(groups),
+                ProgressionCurve.of(tools), ProgressionCurve.of(weapons), ProgressionCurve.of(armour), miningSpeedPerLevel);
+    }
+
+    /**
+     * Goes back to the local config's curves, e.g. after leaving a server.
+     */
+    public static void clearServerCurves() {
+        serverCurves = null;
+    }
+
+    private static synchronized void rebuild() {
+        ProficiencyConfig config = ProficiencyConfig.get();
+        weapons = ProgressionCurve.build(config, config.weapons);
+        armour = ProgressionCurve.build(config, config.armour);
+        // Assigned last, as a non-null tools curve means the others are ready
+        tools = ProgressionCurve.build(config, config.tools);
+    }
+}
@@ -1,48 +1,146 @@
 package proficiency.modid.proficiency;
 
-import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.CopyableComponent;
+import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+import proficiency.modid.api.ProficiencyCallbacks;
 import proficiency.modid.config.ProficiencyConfig;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
 /**
  * Stores all proficiency data for a single player.
- * Tracks both per-type progress (e.g., all pickaxes) and per-item progress (specific pickaxe instance).
- * Attached to PlayerEntity via Cardinal Components API.
+ * Tracks per-type progress (e.g., all pickaxes), per-item-type progress (e.g., all diamond pickaxes)
+ * and per-item progress (specific pickaxe instance).
+ * Attached to PlayerEntity via Cardinal Components API, and synced to the owning player's client.
+ *
+ * Saved entries are decoded lazily: readFromNbt keeps the raw "types" and "items" compounds, and an entry is only
+ * turned into a Progress the first time it's looked up. Entries that were never looked up are written back
+ * as the same NBT elements, so players with a long item history don't pay for it on join or save.
+ *
+ * On respawn and End return, the new player entity takes over the old entity's data by reference (see copyFrom),
+ * rather than going through an NBT write and read.
  */
-public class ProficiencyData implements Component {
+public class ProficiencyData implements AutoSyncedComponent, CopyableComponent<ProficiencyData> {
 
-    public static final String ITEM_UUID_KEY = "ProficiencyUUID";
+    // Stack NBT tag holding the item's tracking id
+    public static final String ITEM_ID_KEY = "ProficiencyId";
+    // Stack NBT tag used before tracking ids, migrated to ITEM_ID_KEY when the stack is next used
+    public static final String LEGACY_ITEM_UUID_KEY = "ProficiencyUUID";
+    // Tracking ids start at 1, 0 means an untracked item
+    public static final long NO_ITEM_ID = 0;
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
 
     /**
      * Represents the state of a single proficiency tracker.
-     * Stores points (accumulated usage) and the derived level.
+     * Stores points (accumulated usage), the derived level and the last level the player was notified of.
      */
     public static final class Progress {
         public long points;
         public ProficiencyLevel level;
+        public byte notifiedLevel; // Ordinal of the last level-up shown to the player
+
+        // Only tracked while decay is enabled (epoch millis, 0 if unknown)
+        public long lastUsed; // Last time points were awarded
+        public long decayedTo; // Time decay has been applied up to
+        @Nullable
+        public String category; // Category used to level this entry, kept for items so decay can pick the right curve
 
         public Progress() {
             this.points = 0;
             this.level = ProficiencyLevel.UNTRAINED;
+            this.notifiedLevel = 0;
+        }
+
+        /**
+         * Updates level based on points and the category's progression curve.
+         */
+        public void updateLevel(ProgressionCurve curve) {
+            this.level = curve.levelForPoints(this.points);
+        }
+
+        /**
+         * Records a use, which restarts the decay grace period.
+         */
+        public void markUsed(long now) {
+            this.lastUsed = now;
+            this.decayedTo = now;
+        }
+
+        /**
+         * Applies decay for every whole day since the later of the grace period ending and the last time decay
+         * was applied. Decay compounds, so applying it in steps gives the same result as applying it all at once.
+         * @return true if the level dropped
+         */
+        public boolean applyDecay(long now, long graceMillis, double keptPerDay, ProgressionCurve curve) {
+            // Entries from before decay was enabled start their grace period now
+            if (this.lastUsed == 0) {
+                markUsed(now);
+                return false;
+            }
+
+            long from = Math.max(this.decayedTo, this.lastUsed + graceMillis);
+            long days = (now - from) / DAY_MILLIS;
+            if (days <= 0) return false;
+
+            this.decayedTo = from + days * DAY_MILLIS;
+            if (this.points <= 0) return false;
+            this.points = (long) (this.points * Math.pow(keptPerDay, days));
+
+            // Special levels (above MASTERFUL) are kept until the points fall below MASTERFUL itself
+            ProficiencyLevel decayed = curve.levelForPoints(this.points);
+            if (decayed.ordinal() >= Math.min(this.level.ordinal(), ProficiencyLevel.MASTERFUL.ordinal())) return false;
+
+            this.level = decayed;
+            // Earning the level back notifies the player again
+            this.notifiedLevel = (byte) Math.min(this.notifiedLevel, decayed.ordinal());
+            return true;
+        }
+
+        /**
+         * Checks for a level-up the player hasn't been notified of yet, and marks it as notified.
+         * @return true if the level is higher than the last notified level
+         */
+        public boolean consumeLevelUp() {
+            if (this.level.ordinal() <= this.notifiedLevel) return false;
+
+            this.notifiedLevel = (byte) this.level.ordinal();
+            return true;
         }
 
         /**
-         * Updates level based on points and config thresholds.
-         * @param thresholds Array of point thresholds for each level
+         * Marks the current level as notified, e.g. after it was set by a command.
          */
-        public void updateLevel(long[] thresholds) {
-            this.level = ProficiencyLevel.fromPoints(this.points, thresholds);
+        public void markNotified() {
+            this.notifiedLevel = (byte) this.level.ordinal();
         }
 
         public NbtCompound toNbt() {
             NbtCompound nbt = new NbtCompound();
             nbt.putLong("points", this.points);
             nbt.putString("level", this.level.name());
+            nbt.putByte("notified", this.notifiedLevel);
+            if (this.lastUsed != 0) {
+                nbt.putLong("lastUsed", this.lastUsed);
+                nbt.putLong("decayedTo", this.decayedTo);
+            }
+            if (this.category != null) nbt.putString("category", this.category);
             return nbt;
         }
 
@@ -54,67 +152,263 @@ public class ProficiencyData implements Component {
             } catch (IllegalArgumentException e) {
                 p.level = ProficiencyLevel.UNTRAINED;
             }
+            // Data saved before "notified" existed had every level-up notified immediately
+            p.notifiedLevel = nbt.contains("notified") ? nbt.getByte("notified") : (byte) p.level.ordinal();
+            p.lastUsed = nbt.getLong("lastUsed");
+            p.decayedTo = nbt.getLong("decayedTo");
+            p.category = nbt.contains("category") ? nbt.getString("category") : null;
             return p;
         }
     }
 
+    // The player this data belongs to, null when used outside of an entity
+    @Nullable
+    private final PlayerEntity owner;
+
+    // Incremented each time a sync packet is applied on the client, lets client caches know when to rebuild
+    private int syncRevision;
+
+    // When this data was last written to an external store (epoch millis), 0 if never
+    private long savedAt;
+
     // Per-type progress: tracks categories like "pickaxe", "sword", etc.
-    private final Map<String, Progress> typeProgress = new HashMap<>();
+    private Map<String, Progress> typeProgress = new HashMap<>();
+
+    // Per-item progress: tracks individual item instances by tracking id
+    private Long2ObjectOpenHashMap<Progress> itemProgress = new Long2ObjectOpenHashMap<>();
+
+    // Per-item-type progress: indexed by raw Item registry id, so lookups don't hash anything.
+    // Bounded by the item registry, so it's decoded eagerly and saved by item id.
+    // Only sized up to the highest id used, and the used ids are listed so saving and decay don't walk empty slots
+    private Progress[] itemTypeProgress = new Progress[0];
+    private IntArrayList itemTypeIds = new IntArrayList();
 
-    // Per-item progress: tracks individual item instances by UUID
-    private final Map<UUID, Progress> itemProgress = new HashMap<>();
+    // Saved item type entries for items that aren't registered (e.g. from a removed mod), kept so they aren't lost
+    private NbtCompound unknownItemTypes = new NbtCompound();
 
-    // Tracks previous levels for level-up detection
-    private final Map<String, ProficiencyLevel> previousLevels = new HashMap<>();
+    // Saved entries not decoded yet, keyed like the maps above. An entry is removed once it's decoded
+    private NbtCompound rawTypes = new NbtCompound();
+    private NbtCompound rawItems = new NbtCompound();
+
+    // Gameplay effects derived from category levels, only recomputed after a category level changes (not saved)
+    private ProficiencyModifiers modifiers;
+    private boolean modifiersChanged = true;
+
+    public ProficiencyData() {
+        this(null);
+    }
+
+    public ProficiencyData(@Nullable PlayerEntity owner) {
+        this.owner = owner;
+    }
 
     /**
      * Gets or creates Progress for an item type category.
      * @param category Category identifier like "pickaxe", "sword", "tools"
      */
     public Progress getOrCreateType(String category) {
-        return typeProgress.computeIfAbsent(category, k -> new Progress());
+        Progress progress = getType(category);
+        if (progress == null) {
+            progress = new Progress();
+            typeProgress.put(category, progress);
+        }
+        return progress;
     }
 
     /**
      * Gets or creates Progress for a specific item instance.
      */
-    public Progress getOrCreateItem(UUID uuid) {
-        return itemProgress.computeIfAbsent(uuid, k -> new Progress());
+    public Progress getOrCreateItem(long itemId) {
+        Progress progress = getItem(itemId);
+        if (progress == null) {
+            progress = new Progress();
+            itemProgress.put(itemId, progress);
+        }
+        return progress;
+    }
+
+    /**
+     * Gets or creates Progress for an item type, e.g. all diamond pickaxes.
+     */
+    public Progress getOrCreateItemType(Item item) {
+        int id = Registries.ITEM.getRawId(item);
+        ensureItemTypeCapacity(id);
+
+        Progress progress = itemTypeProgress[id];
+        if (progress == null) {
+            progress = new Progress();
+            itemTypeProgress[id] = progress;
+            itemTypeIds.add(id);
+        }
+        return progress;
+    }
+
+    public Progress getItemType(Item item) {
+        int id = Registries.ITEM.getRawId(item);
+        return id >= 0 && id < itemTypeProgress.length ? itemTypeProgress[id] : null;
+    }
+
+    // Grown to just past the highest id used, players normally only use a few dozen item types
+    private void ensureItemTypeCapacity(int id) {
+        if (id >= itemTypeProgress.length) {
+            itemTypeProgress = Arrays.copyOf(itemTypeProgress, Math.max(id + 1, Math.min(id + 16, Registries.ITEM.size())));
+        }
     }
 
     public Progress getType(String category) {
-        return typeProgress.get(category);
+        Progress progress = typeProgress.get(category);
+        if (progress == null && !rawTypes.isEmpty()) {
+            progress = decode(rawTypes, category);
+            if (progress != null) typeProgress.put(category, progress);
+        }
+        return progress;
+    }
+
+    public Progress getItem(long itemId) {
+        Progress progress = itemProgress.get(itemId);
+        if (progress == null && !rawItems.isEmpty()) {
+            progress = decode(rawItems, Long.toString(itemId));
+            if (progress != null) itemProgress.put(itemId, progress);
+        }
+        return progress;
     }
 
-    public Progress getItem(UUID uuid) {
-        return itemProgress.get(uuid);
+    /**
+     * Decodes a saved entry and removes it from the raw compound, so it's only written from the Progress after this.
+     * @return The decoded Progress, or null if there's no saved entry for the key
+     */
+    @Nullable
+    private static Progress decode(NbtCompound raw, String key) {
+        if (!raw.contains(key, NbtElement.COMPOUND_TYPE)) return null;
+
+        Progress progress = Progress.fromNbt(raw.getCompound(key));
+        raw.remove(key);
+        return progress;
+    }
+
+    /**
+     * Counts items at PROFICIENT or higher. Saved entries are counted from their "level" tag without being decoded,
+     * so the lazy decoding of the items section is kept.
+     */
+    private int countProficientItems() {
+        int count = 0;
+        for (Progress progress : itemProgress.values()) {
+            if (progress.level.atLeast(ProficiencyLevel.PROFICIENT)) count++;
+        }
+
+        // Legacy UUID keys that couldn't be migrated yet (no allocator) aren't counted until they are
+        for (String key : rawItems.getKeys()) {
+            if (parseItemId(key) == NO_ITEM_ID || !rawItems.contains(key, NbtElement.COMPOUND_TYPE)) continue;
+
+            try {
+                if (ProficiencyLevel.valueOf(rawItems.getCompound(key).getString("level")).atLeast(ProficiencyLevel.PROFICIENT)) {
+                    count++;
+                }
+            } catch (IllegalArgumentException e) {
+                // Decoded as UNTRAINED, see Progress.fromNbt
+            }
+        }
+        return count;
     }
 
     /**
      * Adds points to a category or item and updates its level.
-     * @param id Category name (e.g., "pickaxe") or UUID string
+     * @param id Category name (e.g., "pickaxe") or item tracking id
      * @param amount Points to add
      */
     public void addPoints(String id, long amount) {
         if (amount <= 0) return;
 
-        // Determine if this is a UUID or category
-        Progress progress;
-        long[] thresholds;
+        long itemId = parseItemId(id);
+        if (itemId != NO_ITEM_ID) {
+            addItemPoints(itemId, "tools", amount); // Default for now
+        } else {
+            addTypePoints(id, amount);
+        }
+    }
 
-        try {
-            // Try parsing as UUID first (for individual items)
-            UUID uuid = UUID.fromString(id);
-            progress = getOrCreateItem(uuid);
-            thresholds = getThresholdsForCategory("tools"); // Default for now
-        } catch (IllegalArgumentException e) {
-            // Not a UUID, treat as category
-            progress = getOrCreateType(id);
-            thresholds = getThresholdsForCategory(id);
+    /**
+     * Adds points to an item type category and updates its level.
+     * @param category Category name (e.g., "pickaxe")
+     */
+    public void addTypePoints(String category, long amount) {
+        if (amount <= 0) return;
+
+        Progress progress = getOrCreateType(category);
+        ProficiencyLevel oldLevel = progress.level;
+        decay(progress, category);
+        progress.points += amount;
+        progress.updateLevel(ProficiencyCurves.forCategory(category));
+        markUsed(progress, null); // Types are keyed by category already
+
+        if (owner instanceof ServerPlayerEntity player && ProficiencyCallbacks.hasPointsAwardedListeners()) {
+            ProficiencyCallbacks.POINTS_AWARDED.invoker().onPointsAwarded(player, category, amount, progress.points);
         }
+        markTypeLevelChanged(category, oldLevel);
+    }
 
+    /**
+     * Adds points to a specific item instance and updates its level.
+     * @param category The item's category, used to pick level thresholds
+     */
+    public void addItemPoints(long itemId, String category, long amount) {
+        if (amount <= 0) return;
+
+        Progress progress = getOrCreateItem(itemId);
+        decay(progress, category);
         progress.points += amount;
-        progress.updateLevel(thresholds);
+        progress.updateLevel(ProficiencyCurves.forCategory(category));
+        markUsed(progress, category);
+    }
+
+    /**
+     * Adds points to an item type and updates its level.
+     * @param category The item's category, used to pick level thresholds
+     */
+    public void addItemTypePoints(Item item, String category, long amount) {
+        if (amount <= 0) return;
+
+        Progress progress = getOrCreateItemType(item);
+        decay(progress, category);
+        progress.points += amount;
+        progress.updateLevel(ProficiencyCurves.forCategory(category));
+        markUsed(progress, category);
+    }
+
+    /**
+     * Moves an item's progress onto another item, e.g. when two tools are combined in an anvil.
+     * Works on the decoded entries directly, the source entry is removed.
+     * @param category The target item's category, used to pick level thresholds
+     * @return true if the source had any progress to move
+     */
+    public boolean mergeItem(long targetId, long sourceId, String category) {
+        if (targetId == sourceId) return false;
+
+        Progress source = getItem(sourceId);
+        if (source == null) return false;
+        removeItem(sourceId);
+
+        Progress target = getOrCreateItem(targetId);
+        decay(target, category);
+        decay(source, category);
+        target.points += source.points;
+        target.updateLevel(ProficiencyCurves.forCategory(category));
+        markUsed(target, category);
+        return true;
+    }
+
+    /**
+     * Removes an item's progress, e.g. once the item has been reset or consumed.
+     * @return true if the item had any progress
+     */
+    public boolean removeItem(long itemId) {
+        if (itemProgress.remove(itemId) != null) return true;
+        if (rawItems.isEmpty()) return false;
+
+        String key = Long.toString(itemId);
+        boolean saved = rawItems.contains(key);
+        rawItems.remove(key);
+        return saved;
     }
 
     /**
@@ -123,69 +417,120 @@ public class ProficiencyData implements Component {
     public ProficiencyLevel getLevel(String id) {
         Progress progress;
 
-        try {
-            UUID uuid = UUID.fromString(id);
-            progress = getItem(uuid);
-        } catch (IllegalArgumentException e) {
+        long itemId = parseItemId(id);
+        if (itemId != NO_ITEM_ID) {
+            progress = getItem(itemId);
+            if (progress != null) decay(progress, null);
+        } else {
             progress = getType(id);
+            if (progress != null) decayType(id, progress);
         }
 
         return progress != null ? progress.level : ProficiencyLevel.UNTRAINED;
     }
 
     /**
-     * Gets the previous level (before last update) for level-up detection.
+     * Applies any decay owed to an entry since it was last used, if decay is enabled.
+     * Decay is only worked out when an entry is read or awarded, or by applyDecay before a sync, so it costs nothing
+     * while data sits unused. Never applied while writing NBT, as that also builds sync packets.
+     * Server side only, the client shows the synced values.
+     * @param category Category used to pick the curve, or null to use the entry's own
+     * @return true if the level dropped
      */
-    public ProficiencyLevel getPreviousLevel(String id) {
-        return previousLevels.getOrDefault(id, ProficiencyLevel.UNTRAINED);
+    private boolean decay(Progress progress, @Nullable String category) {
+        ProficiencyConfig config = ProficiencyConfig.get();
+        if (!config.enableDecay || (owner != null && owner.getWorld().isClient)) return false;
+
+        String curveCategory = category != null ? category : progress.category;
+        return progress.applyDecay(System.currentTimeMillis(),
+                (long) (config.decayGraceDays * DAY_MILLIS),
+                Math.max(0.0, 1.0 - config.decayPercentPerDay / 100.0),
+                curveCategory != null ? ProficiencyCurves.forCategory(curveCategory) : ProficiencyCurves.forGroup(ProficiencyCurves.TOOLS));
+    }
+
+    private void decayType(String category, Progress progress) {
+        ProficiencyLevel oldLevel = progress.level;
+        if (decay(progress, category)) markTypeLevelChanged(category, oldLevel);
+    }
+
+    // Restarts an entry's decay grace period after an award
+    private static void markUsed(Progress progress, @Nullable String category) {
+        if (!ProficiencyConfig.get().enableDecay) return;
+
+        progress.markUsed(System.currentTimeMillis());
+        if (category != null) progress.category = category;
     }
 
     /**
-     * Updates the stored previous level after a level-up notification.
+     * Brings every decoded entry's decay up to date, undecoded entries catch up when they're next read or awarded.
+     * Called by ProficiencyComponents.sync just before the data is sent. The sync writes every decoded entry anyway,
+     * so this only adds to the cost of a sync that's already happening, and nothing runs on a timer.
      */
-    public void setPreviousLevel(String id, ProficiencyLevel level) {
-        previousLevels.put(id, level);
+    public void applyDecay() {
+        if (!ProficiencyConfig.get().enableDecay) return;
+
+        for (Map.Entry<String, Progress> entry : typeProgress.entrySet()) {
+            decayType(entry.getKey(), entry.getValue());
+        }
+        for (Progress progress : itemProgress.values()) {
+            decay(progress, null);
+        }
+        for (int i = 0; i < itemTypeIds.size(); i++) {
+            decay(itemTypeProgress[itemTypeIds.getInt(i)], null);
+        }
     }
 
     /**
-     * Gets config thresholds for a given category.
-     * Maps category names to config threshold arrays.
+     * Gets the cached gameplay modifiers for this player's category levels.
      */
-    private long[] getThresholdsForCategory(String category) {
-        ProficiencyConfig config = ProficiencyConfig.get();
+    public ProficiencyModifiers getModifiers() {
+        if (modifiers == null) {
+            modifiers = ProficiencyModifiers.compute(this);
+        }
+        return modifiers;
+    }
 
-        return switch (category.toLowerCase()) {
-            case "pickaxe", "axe", "shovel", "hoe", "shears", "fishing_rod" ->
-                    config.tools.getScaledThresholds(config.useExponentialScaling);
-            case "sword", "trident", "bow", "crossbow" ->
-                    config.weapons.getScaledThresholds(config.useExponentialScaling);
-            case "helmet", "chestplate", "leggings", "boots", "elytra" ->
-                    config.armour.getScaledThresholds(config.useExponentialScaling);
-            default ->
-                    config.tools.getScaledThresholds(config.useExponentialScaling);
-        };
+    /**
+     * Must be called whenever a category level is changed directly, so modifiers get recomputed.
+     */
+    public void markModifiersChanged() {
+        modifiers = null;
+        modifiersChanged = true;
     }
 
     /**
-     * Public accessor for getting thresholds for a category.
-     * @param category The category to get thresholds for
-     * @return Array of threshold points for each level
+     * Must be called after a category's level may have been changed directly, e.g. by a command.
+     * Recomputes modifiers and notifies LEVEL_CHANGED listeners if the level differs from oldLevel.
      */
-    public long[] getPublicThresholdsForCategory(String category) {
-        return getThresholdsForCategory(category);
+    public void markTypeLevelChanged(String category, ProficiencyLevel oldLevel) {
+        Progress progress = typeProgress.get(category);
+        if (progress == null || progress.level == oldLevel) return;
+
+        markModifiersChanged();
+        if (owner instanceof ServerPlayerEntity player && ProficiencyCallbacks.hasLevelChangedListeners()) {
+            ProficiencyCallbacks.LEVEL_CHANGED.invoker().onLevelChanged(player, category, oldLevel, progress.level);
+        }
     }
 
+    /**
+     * Checks whether modifiers changed since the last call, used to know when attributes need reapplying.
+     */
+    public boolean consumeModifiersChanged() {
+        boolean changed = modifiersChanged;
+        modifiersChanged = false;
+        return changed;
+    }
 
     /**
-     * Gets the main category for an item type (tools, weapons, or armour).
+     * Raises a MASTERFUL category to the highest special level whose unlock conditions are met.
+     * Called after adding points to a category.
      */
-    private String getMainCategory(String itemType) {
-        return switch (itemType.toLowerCase()) {
-            case "pickaxe", "axe", "shovel", "hoe", "shears", "fishing_rod" -> "tools";
-            case "sword", "trident", "bow", "crossbow" -> "weapons";
-            case "helmet", "chestplate", "leggings", "boots", "elytra" -> "armour";
-            default -> "tools";
-        };
+    public void applySpecialUnlock(String category) {
+        Progress progress = getType(category);
+        if (progress == null || progress.level != ProficiencyLevel.MASTERFUL) return;
+
+        progress.level = calculateSpecialUnlock(category);
+        markTypeLevelChanged(category, ProficiencyLevel.MASTERFUL);
     }
 
     /**
@@ -193,26 +538,21 @@ public class ProficiencyData implements Component {
      * Called after adding points to update special progression.
      */
     public ProficiencyLevel calculateSpecialUnlock(String itemType) {
-        String mainCategory = getMainCategory(itemType);
-        ProficiencyConfig config = ProficiencyConfig.get();
-        ProficiencyConfig.CategoryThresholds thresholds = switch (mainCategory) {
-            case "weapons" -> config.weapons;
-            case "armour" -> config.armour;
-            default -> config.tools;
-        };
+        ProficiencyConfig.CategoryThresholds thresholds =
+                ProficiencyConfig.get().getCategoryThresholds(ProficiencyCurves.getGroup(itemType));
 
         Progress categoryProgress = getType(itemType);
         if (categoryProgress == null) return ProficiencyLevel.MASTERFUL;
 
-        // Count items at PROFICIENT or higher in this category
-        int proficientCount = 0;
-        for (Progress itemProg : itemProgress.values()) {
-            if (itemProg.level.atLeast(ProficiencyLevel.PROFICIENT)) {
-                proficientCount++;
-            }
+        long totalPoints = categoryProgress.points;
+        // Items are only counted once the category has the points for a special level
+        if (totalPoints < Math.min(thresholds.virtuosoThreshold,
+                Math.min(thresholds.legendaryThreshold, thresholds.unrivaledThreshold))) {
+            return ProficiencyLevel.MASTERFUL;
         }
 
-        long totalPoints = categoryProgress.points;
+        // Count items at PROFICIENT or higher
+        int proficientCount = countProficientItems();
 
         // Check unlock conditions in descending order
         if (proficientCount >= thresholds.unrivaledItemsRequired &&
@@ -234,78 +574,205 @@ public class ProficiencyData implements Component {
     }
 
     /**
-     * Ensures an ItemStack has a unique UUID for tracking.
-     * Creates and stores a UUID if one doesn't exist.
+     * Gets the tracking id of an ItemStack without assigning or migrating one. Safe to call on the client.
+     * @return The item's id, or NO_ITEM_ID if it isn't tracked (or still only has a legacy UUID)
      */
-    public static UUID ensureItemUuid(ItemStack stack) {
-        NbtCompound nbt = stack.getOrCreateNbt();
+    public static long getItemId(ItemStack stack) {
+        NbtCompound nbt = stack.getNbt();
+        return nbt != null && nbt.contains(ITEM_ID_KEY, NbtElement.LONG_TYPE) ? nbt.getLong(ITEM_ID_KEY) : NO_ITEM_ID;
+    }
+
+    /**
+     * Gets the tracking id of an ItemStack, migrating a legacy UUID tag but never assigning a new id.
+     * Server thread only.
+     * @return The item's id, or NO_ITEM_ID if it has never been tracked
+     */
+    public static long getOrMigrateItemId(ItemStack stack) {
+        long id = getItemId(stack);
+        if (id != NO_ITEM_ID) return id;
+
+        NbtCompound nbt = stack.getNbt();
+        ItemIdAllocator allocator = ItemIdAllocator.get();
+        if (nbt == null || allocator == null || !nbt.containsUuid(LEGACY_ITEM_UUID_KEY)) return NO_ITEM_ID;
+
+        id = allocator.migrate(nbt.getUuid(LEGACY_ITEM_UUID_KEY));
+        nbt.remove(LEGACY_ITEM_UUID_KEY);
+        nbt.putLong(ITEM_ID_KEY, id);
+        return id;
+    }
 
-        if (!nbt.containsUuid(ITEM_UUID_KEY)) {
-            UUID id = UUID.randomUUID();
-            nbt.putUuid(ITEM_UUID_KEY, id);
-            return id;
+    /**
+     * Ensures an ItemStack has a tracking id, assigning the next id from the world's allocator if it doesn't.
+     * Server thread only.
+     * @return The item's id, or NO_ITEM_ID if no allocator is loaded (before the worlds have loaded),
+     * callers should skip the award then
+     */
+    public static long ensureItemId(ItemStack stack) {
+        long id = getOrMigrateItemId(stack);
+        if (id != NO_ITEM_ID) return id;
+
+        ItemIdAllocator allocator = ItemIdAllocator.get();
+        if (allocator == null) return NO_ITEM_ID;
+
+        id = allocator.allocate();
+        stack.getOrCreateNbt().putLong(ITEM_ID_KEY, id);
+        return id;
+    }
+
+    // Parses an item id key, returns NO_ITEM_ID for category names and legacy UUID keys
+    private static long parseItemId(String key) {
+        if (key.isEmpty() || !Character.isDigit(key.charAt(0))) return NO_ITEM_ID;
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            return NO_ITEM_ID;
         }
-        return nbt.getUuid(ITEM_UUID_KEY);
+    }
+
+    /**
+     * Gets when this data was last written to an external store, used to tell which copy is newer.
+     */
+    public long getSavedAt() {
+        return savedAt;
+    }
+
+    public void setSavedAt(long savedAt) {
+        this.savedAt = savedAt;
+    }
+
+    /**
+     * Gets the number of sync packets applied to this data, only changes on the client.
+     */
+    public int getSyncRevision() {
+        return syncRevision;
+    }
+
+    // Only the owning player needs their proficiency data
+    @Override
+    public boolean shouldSyncWith(ServerPlayerEntity player) {
+        return player == this.owner;
+    }
+
+    @Override
+    public void applySyncPacket(PacketByteBuf buf) {
+        AutoSyncedComponent.super.applySyncPacket(buf);
+        syncRevision++;
+    }
+
+    /**
+     * Takes over another player entity's data when CCA copies the component on respawn.
+     * The old entity is discarded straight after, so its storage is shared rather than copied, which costs the same
+     * however long the item history is. Anything still holding the old entity sees the same, current data.
+     */
+    @Override
+    public void copyFrom(ProficiencyData other) {
+        typeProgress = other.typeProgress;
+        itemProgress = other.itemProgress;
+        itemTypeProgress = other.itemTypeProgress;
+        itemTypeIds = other.itemTypeIds;
+        unknownItemTypes = other.unknownItemTypes;
+        rawTypes = other.rawTypes;
+        rawItems = other.rawItems;
+        savedAt = other.savedAt;
+        markModifiersChanged();
     }
 
     @Override
     public void readFromNbt(NbtCompound tag) {
         typeProgress.clear();
         itemProgress.clear();
-        previousLevels.clear();
-
-        // Load type progress
-        NbtCompound typeNbt = tag.getCompound("types");
-        for (String key : typeNbt.getKeys()) {
-            Progress progress = Progress.fromNbt(typeNbt.getCompound(key));
-            typeProgress.put(key, progress);
-        }
-
-        // Load item progress
-        NbtCompound itemNbt = tag.getCompound("items");
-        for (String key : itemNbt.getKeys()) {
-            try {
-                UUID itemId = UUID.fromString(key);
-                Progress progress = Progress.fromNbt(itemNbt.getCompound(key));
-                itemProgress.put(itemId, progress);
-            } catch (IllegalArgumentException e) {
-                // Skip invalid UUIDs
+        itemTypeProgress = new Progress[0];
+        itemTypeIds = new IntArrayList();
+        unknownItemTypes = new NbtCompound();
+        markModifiersChanged();
+
+        // Entries are decoded on first lookup, see getType and getItem
+        rawTypes = shallowCopy(tag.getCompound("types"));
+        rawItems = migrateLegacyItems(tag.getCompound("items"));
+        savedAt = tag.getLong("savedAt");
+
+        // Load item type progress
+        NbtCompound itemTypeNbt = tag.getCompound("itemTypes");
+        for (String key : itemTypeNbt.getKeys()) {
+            Identifier itemId = Identifier.tryParse(key);
+            if (itemId != null && Registries.ITEM.containsId(itemId)) {
+                int rawId = Registries.ITEM.getRawId(Registries.ITEM.get(itemId));
+                ensureItemTypeCapacity(rawId);
+                if (itemTypeProgress[rawId] == null) itemTypeIds.add(rawId);
+                itemTypeProgress[rawId] = Progress.fromNbt(itemTypeNbt.getCompound(key));
+            } else {
+                unknownItemTypes.put(key, itemTypeNbt.get(key));
             }
         }
 
-        // Load previous levels
-        NbtCompound prevNbt = tag.getCompound("previousLevels");
-        for (String key : prevNbt.getKeys()) {
-            try {
-                ProficiencyLevel level = ProficiencyLevel.valueOf(prevNbt.getString(key));
-                previousLevels.put(key, level);
-            } catch (IllegalArgumentException e) {
-                // Skip invalid levels
-            }
-        }
+        // Legacy "previousLevels" data is dropped, it's replaced by Progress.notifiedLevel
     }
 
     @Override
     public void writeToNbt(NbtCompound tag) {
         // Save type progress
-        NbtCompound typeNbt = new NbtCompound();
-        for (Map.Entry<String, Progress> entry : typeProgress.entrySet()) {
-            typeNbt.put(entry.getKey(), entry.getValue().toNbt());
-        }
-        tag.put("types", typeNbt);
+        tag.put("types", write(rawTypes, typeProgress));
 
         // Save item progress
-        NbtCompound itemNbt = new NbtCompound();
-        for (Map.Entry<UUID, Progress> entry : itemProgress.entrySet()) {
-            itemNbt.put(entry.getKey().toString(), entry.getValue().toNbt());
+        NbtCompound itemNbt = shallowCopy(rawItems);
+        for (Long2ObjectMap.Entry<Progress> entry : itemProgress.long2ObjectEntrySet()) {
+            itemNbt.put(Long.toString(entry.getLongKey()), entry.getValue().toNbt());
         }
         tag.put("items", itemNbt);
 
-        // Save previous levels
-        NbtCompound prevNbt = new NbtCompound();
-        for (Map.Entry<String, ProficiencyLevel> entry : previousLevels.entrySet()) {
-            prevNbt.putString(entry.getKey(), entry.getValue().name());
+        // Save item type progress
+        NbtCompound itemTypeNbt = shallowCopy(unknownItemTypes);
+        for (int i = 0; i < itemTypeIds.size(); i++) {
+            int id = itemTypeIds.getInt(i);
+            itemTypeNbt.put(Registries.ITEM.getId(Registries.ITEM.get(id)).toString(), itemTypeProgress[id].toNbt());
+        }
+        tag.put("itemTypes", itemTypeNbt);
+
+        if (savedAt != 0) tag.putLong("savedAt", savedAt);
+    }
+
+    /**
+     * Writes decoded entries, plus the raw entries that were never decoded.
+     * Raw entries are shared rather than copied, as they're never modified (only removed from the raw compound).
+     */
+    private static NbtCompound write(NbtCompound raw, Map<String, Progress> decoded) {
+        NbtCompound nbt = shallowCopy(raw);
+        for (Map.Entry<String, Progress> entry : decoded.entrySet()) {
+            nbt.put(entry.getKey(), entry.getValue().toNbt());
+        }
+        return nbt;
+    }
+
+    /**
+     * Copies the raw item entries, re-keying entries saved under a legacy UUID to their tracking id.
+     * Only keys are touched, entries stay undecoded. Legacy keys are left as-is on the client or without a server.
+     */
+    private NbtCompound migrateLegacyItems(NbtCompound items) {
+        ItemIdAllocator allocator = owner == null || !owner.getWorld().isClient ? ItemIdAllocator.get() : null;
+        if (allocator == null) return shallowCopy(items);
+
+        NbtCompound copy = new NbtCompound();
+        for (String key : items.getKeys()) {
+            if (parseItemId(key) != NO_ITEM_ID) {
+                copy.put(key, items.get(key));
+                continue;
+            }
+
+            try {
+                copy.put(Long.toString(allocator.migrate(UUID.fromString(key))), items.get(key));
+            } catch (IllegalArgumentException e) {
+                // Skip invalid keys
+            }
+        }
+        return copy;
+    }
+
+    // Copies the entries of a compound without copying the entries themselves
+    private static NbtCompound shallowCopy(NbtCompound source) {
+        NbtCompound copy = new NbtCompound();
+        for (String key : source.getKeys()) {
+            copy.put(key, source.get(key));
         }
-        tag.put("previousLevels", prevNbt);
+        return copy;
     }
-}
\ No newline at end of file
+}
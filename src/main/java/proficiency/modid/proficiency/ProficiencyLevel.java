@@ -1,5 +1,7 @@
 package proficiency.modid.proficiency;
 
+import net.minecraft.text.Text;
+
 // "Proficiency" represents the level of progression a player can achieve with an item type
 
 // Learning note: ordinal(): returns the index of the enum value i.e 0 for UNTRAINED, 1 for RUDIMENTARY, etc.
@@ -27,6 +29,19 @@ public enum ProficiencyLevel {
     LEGENDARY, // 17
     UNRIVALED; // 18
 
+    // Translated display names, built once | e.g. BASIC -> "Basic"
+    private static final Text[] DISPLAY_NAMES = new Text[values().length];
+
+    static {
+        for (ProficiencyLevel level : values()) {
+            DISPLAY_NAMES[level.ordinal()] = Text.translatable("level.proficiency." + level.name().toLowerCase());
+        }
+    }
+
+    public Text getDisplayName() {
+        return DISPLAY_NAMES[this.ordinal()];
+    }
+
     // Boolean checks and returns true if `this` level is at least `other` level
     public boolean atLeast(ProficiencyLevel other) {
         return this.ordinal() >= other.ordinal(); // e.g. EXPERT.atLeast(PROFICIENT) | Returns true (as 12 >= 8)
@@ -41,20 +56,23 @@ public enum ProficiencyLevel {
     }
 
     // Proficiency threshold array | Computes the proficiency level using a required no. points to level up
-    // thresholds[i] | Points needed to reach next level (i+1)
+    // thresholds[i] | Points needed to reach next level (i+1), must never decrease (see ProgressionCurve)
     // e.g. thresholds[0] = 100, which means 100 points needed for next level, RUDIMENTARY
+    // Binary searches for the first threshold not reached, so it's O(log n)
     public static ProficiencyLevel fromPoints(long points, long[] thresholds) {
-        int levelIndex = 0; // Indicates the proficiency level, starts at UNTRAINED
+        int low = 0; // Indicates the proficiency level, starts at UNTRAINED
+        int high = Math.min(thresholds.length, MASTERFUL.ordinal());
 
-        for (int i=0; i<Math.min(thresholds.length, MASTERFUL.ordinal()); i++) {
-            if (points >= thresholds[i]) { // if player has enough points, update levelIndex
-                levelIndex = i + 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (points >= thresholds[mid]) { // if player has enough points, level is above mid
+                low = mid + 1;
             } else {
-                break; // stop checking at the first threshold not reached
+                high = mid;
             }
         }
         // Ensures that MASTERFUL is not exceeded for base progression
-        return ProficiencyLevel.values()[Math.min(levelIndex, MASTERFUL.ordinal())];
+        return ProficiencyLevel.values()[Math.min(low, MASTERFUL.ordinal())];
     }
 
 }
\ No newline at end of file
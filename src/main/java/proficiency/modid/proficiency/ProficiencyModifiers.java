@@ -0,0 +1,69 @@
+package proficiency.modid.proficiency;
+
+import proficiency.modid.config.ProficiencyConfig;
+
+/**
+ * Cached gameplay effects derived from a player's category levels.
+ * Computed once when a level changes, so mining speed and attribute lookups never touch ProficiencyData.
+ */
+public final class ProficiencyModifiers {
+
+    // Mining speed multipliers are stored in the same order as these categories
+    private static final String[] MINING_CATEGORIES = {
+            ItemCategories.PICKAXE, ItemCategories.AXE, ItemCategories.SHOVEL, ItemCategories.HOE, ItemCategories.SHEARS
+    };
+    private static final String[] ARMOUR_CATEGORIES = {
+            ItemCategories.HELMET, ItemCategories.CHESTPLATE, ItemCategories.LEGGINGS, ItemCategories.BOOTS
+    };
+
+    public static final ProficiencyModifiers NONE = new ProficiencyModifiers(new float[]{1, 1, 1, 1, 1}, 0, 0);
+
+    private final float[] miningSpeed;
+    public final double attackDamage; // Only added to attacks made with a sword
+    public final double armorToughness;
+
+    private ProficiencyModifiers(float[] miningSpeed, double attackDamage, double armorToughness) {
+        this.miningSpeed = miningSpeed;
+        this.attackDamage = attackDamage;
+        this.armorToughness = armorToughness;
+    }
+
+    /**
+     * Gets the mining speed multiplier for a tool category.
+     * @param toolCategory Category from ItemCategories, may be null
+     */
+    public float getMiningSpeed(String toolCategory) {
+        for (int i = 0; i < MINING_CATEGORIES.length; i++) {
+            // Categories are the shared ItemCategories constants, so identity comparison is enough
+            if (MINING_CATEGORIES[i] == toolCategory) return miningSpeed[i];
+        }
+        return 1.0f;
+    }
+
+    /**
+     * Computes the modifiers for a player's current category levels.
+     */
+    public static ProficiencyModifiers compute(ProficiencyData data) {
+        ProficiencyConfig config = ProficiencyConfig.get();
+        // On the client, mining speed follows the server's setting, the other effects are only applied by the server
+        double miningSpeedPerLevel = ProficiencyCurves.getMiningSpeedPerLevel();
+        if (!config.enableEffects && miningSpeedPerLevel == 0) return NONE;
+
+        float[] miningSpeed = new float[MINING_CATEGORIES.length];
+        for (int i = 0; i < MINING_CATEGORIES.length; i++) {
+            miningSpeed[i] = (float) (1.0 + miningSpeedPerLevel * data.getLevel(MINING_CATEGORIES[i]).ordinal());
+        }
+        if (!config.enableEffects) return new ProficiencyModifiers(miningSpeed, 0, 0);
+
+        double attackDamage = config.attackDamagePerLevel * data.getLevel(ItemCategories.SWORD).ordinal();
+
+        // Armour toughness uses the average level of all armour pieces
+        int armourLevels = 0;
+        for (String category : ARMOUR_CATEGORIES) {
+            armourLevels += data.getLevel(category).ordinal();
+        }
+        double armorToughness = config.armorToughnessPerLevel * armourLevels / ARMOUR_CATEGORIES.length;
+
+        return new ProficiencyModifiers(miningSpeed, attackDamage, armorToughness);
+    }
+}
@@ -0,0 +1,111 @@
+package proficiency.modid.proficiency;
+
+import proficiency.modid.config.ProficiencyConfig;
+
+/**
+ * A precomputed table of the points needed for each base proficiency level.
+ * thresholds[i] is the total points needed to reach level i + 1, and is never lower than thresholds[i - 1],
+ * so levels and points to the next level are found by binary search.
+ */
+public final class ProgressionCurve {
+
+    /**
+     * How a curve's thresholds are generated.
+     */
+    public enum Type {
+        TABLE, // Uses the category's configured thresholds as-is
+        LINEAR, // linearBase + linearStep * level
+        EXPONENTIAL, // expoBase * expoMultiplier ^ (level ^ expoPower)
+        POLYNOMIAL, // polyBase * (level + 1) ^ polyPower
+        PIECEWISE // Each level adds the increment of the segment it falls in
+    }
+
+    private final long[] thresholds;
+
+    private ProgressionCurve(long[] thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    /**
+     * Wraps an existing threshold table, e.g. one received from the server.
+     */
+    public static ProgressionCurve of(long[] thresholds) {
+        return new ProgressionCurve(makeNonDecreasing(thresholds.clone()));
+    }
+
+    /**
+     * Builds the curve for a category from the configured curve type.
+     * useExponentialScaling takes priority over curveType, so the config screen toggle keeps working.
+     */
+    public static ProgressionCurve build(ProficiencyConfig config, ProficiencyConfig.CategoryThresholds category) {
+        ProgressionCurve.Type type = config.useExponentialScaling ? Type.EXPONENTIAL : config.curveType;
+        long[] thresholds = new long[ProficiencyLevel.MASTERFUL.ordinal()];
+        long previous = 0;
+
+        for (int i = 0; i < thresholds.length; i++) {
+            thresholds[i] = switch (type) {
+                // Levels without a configured threshold can't be reached, as before
+                case TABLE -> i < category.baseThresholds.length ? category.baseThresholds[i] : Long.MAX_VALUE;
+                case LINEAR -> (long) (config.linearBase + config.linearStep * i);
+                case EXPONENTIAL -> (long) (config.expoBase * Math.pow(config.expoMultiplier, Math.pow(i, config.expoPower)));
+                case POLYNOMIAL -> (long) (config.polyBase * Math.pow(i + 1, config.polyPower));
+                case PIECEWISE -> previous + getPiecewiseIncrement(config, i);
+            };
+            previous = thresholds[i];
+        }
+
+        return new ProgressionCurve(makeNonDecreasing(thresholds));
+    }
+
+    /**
+     * Gets the level reached with the given points, capped at MASTERFUL.
+     */
+    public ProficiencyLevel levelForPoints(long points) {
+        return ProficiencyLevel.fromPoints(points, thresholds);
+    }
+
+    /**
+     * Gets the points still needed to reach the next level.
+     * @return Points needed, or -1 if already at the highest base level
+     */
+    public long pointsToNextLevel(long points) {
+        int next = levelForPoints(points).ordinal();
+        return next < thresholds.length ? thresholds[next] - points : -1;
+    }
+
+    /**
+     * Gets the total points needed to reach level index + 1.
+     */
+    public long getThreshold(int index) {
+        return thresholds[index];
+    }
+
+    public int size() {
+        return thresholds.length;
+    }
+
+    /**
+     * @return A copy of the threshold table
+     */
+    public long[] getThresholds() {
+        return thresholds.clone();
+    }
+
+    private static long getPiecewiseIncrement(ProficiencyConfig config, int level) {
+        long increment = 0;
+        for (int i = 0; i < config.piecewiseStartLevels.length && i < config.piecewiseIncrements.length; i++) {
+            if (level >= config.piecewiseStartLevels[i]) {
+                increment = config.piecewiseIncrements[i];
+            }
+        }
+        return increment;
+    }
+
+    // Thresholds are cumulative, so a lower value than the previous level is treated as the previous value
+    private static long[] makeNonDecreasing(long[] thresholds) {
+        for (int i = 1; i < thresholds.length; i++) {
+            thresholds[i] = Math.max(thresholds[i], thresholds[i - 1]);
+        }
+        return thresholds;
+    }
+}
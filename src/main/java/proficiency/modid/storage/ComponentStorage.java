@@ -0,0 +1,30 @@
+package proficiency.modid.storage;
+
+import net.minecraft.nbt.NbtCompound;
+
+import java.util.UUID;
+
+/**
+ * Default backend, proficiency is only saved as part of the player's Cardinal Components data in the world.
+ */
+public final class ComponentStorage implements ProficiencyStorage {
+
+    public static final ComponentStorage INSTANCE = new ComponentStorage();
+
+    private ComponentStorage() {}
+
+    @Override
+    public boolean isExternal() {
+        return false;
+    }
+
+    @Override
+    public NbtCompound load(UUID playerId) {
+        return null;
+    }
+
+    @Override
+    public void save(UUID playerId, NbtCompound data) {
+        // Saved by Cardinal Components with the rest of the player
+    }
+}
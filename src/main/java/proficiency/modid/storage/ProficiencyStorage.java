@@ -0,0 +1,41 @@
+package proficiency.modid.storage;
+
+import net.minecraft.nbt.NbtCompound;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * A place proficiency data is persisted to outside of the world's playerdata, e.g. a store shared by several servers.
+ * Data is the same NBT written by ProficiencyData.writeToNbt.
+ *
+ * Implementations are only ever called from the storage thread (see ProficiencyStorageManager), never the server
+ * thread, so they may block and don't need to be thread safe.
+ */
+public interface ProficiencyStorage {
+
+    /**
+     * Whether this backend stores data anywhere besides the player's component.
+     * When false the storage manager does nothing at all.
+     */
+    boolean isExternal();
+
+    /**
+     * Loads a player's stored data.
+     * @return The stored data, or null if nothing is stored for this player. Callers must not modify it
+     */
+    @Nullable
+    NbtCompound load(UUID playerId) throws IOException;
+
+    /**
+     * Stores a player's data, replacing anything stored before.
+     * @param data Snapshot of the player's data, not modified after being passed in
+     */
+    void save(UUID playerId, NbtCompound data) throws IOException;
+
+    /**
+     * Releases any resources, called once all pending loads and saves have finished.
+     */
+    default void close() throws IOException {}
+}
@@ -0,0 +1,201 @@
+package proficiency.modid.storage;
+
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import proficiency.modid.Proficiency;
+import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.config.ProficiencyConfig;
+import proficiency.modid.proficiency.ProficiencyData;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mirrors proficiency data to the configured ProficiencyStorage, without blocking the server thread.
+ *  - Join: the stored copy is loaded on the storage thread, and replaces the player's component if it's newer
+ *  - Change: players are marked dirty by ProficiencyComponents.sync, and written in batches by a WriteBehindQueue
+ *  - Disconnect and server stop: the player is always written, so the store has their latest progress
+ *
+ * While connected, the player's component is the in-memory copy, the store is only read again on the next join.
+ * Does nothing when the backend is the default ComponentStorage.
+ */
+public final class ProficiencyStorageManager {
+
+    // Max time to wait for pending writes when the server stops
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private static ProficiencyStorage storage = ComponentStorage.INSTANCE;
+    private static ExecutorService executor;
+    private static WriteBehindQueue queue;
+
+    // Players whose stored copy is still being loaded, server thread only
+    private static final Set<UUID> LOADING = new HashSet<>();
+
+    private ProficiencyStorageManager() {}
+
+    public static void register() {
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> open());
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> load(server, handler.player));
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> onDisconnect(handler.player));
+        ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> {
+            if (queue != null) queue.replacePlayer(newPlayer);
+        });
+        ServerTickEvents.END_SERVER_TICK.register(ProficiencyStorageManager::onServerTick);
+        // Drains the dirty set while players are still online, then waits for the writes once the server has stopped
+        ServerLifecycleEvents.SERVER_STOPPING.register(ProficiencyStorageManager::drain);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> close());
+    }
+
+    /**
+     * Marks a player's data as changed, so it's written on the next flush.
+     */
+    public static void markDirty(ServerPlayerEntity player) {
+        if (queue != null) queue.markDirty(player, ProficiencyStorageManager::canWrite);
+    }
+
+    /**
+     * Gets the write-behind queue metrics, or null if no external storage is in use.
+     */
+    public static Stats getStats() {
+        if (queue == null) return null;
+        return new Stats(queue.getDirtyCount(), queue.getPeakDirty(), queue.getPendingWrites(),
+                queue.getWritten(), queue.getFailed(), queue.getForcedFlushes());
+    }
+
+    /**
+     * Snapshot of the write-behind queue metrics.
+     * @param dirty Players waiting to be written
+     * @param peakDirty Most players waiting at once since the server started
+     * @param pendingWrites Snapshots handed to the storage thread but not written yet
+     * @param forcedFlushes Flushes caused by the dirty set being full
+     */
+    public record Stats(int dirty, int peakDirty, int pendingWrites, long written, long failed, long forcedFlushes) {}
+
+    private static void open() {
+        ProficiencyConfig config = ProficiencyConfig.get();
+        storage = ComponentStorage.INSTANCE;
+
+        if ("shared_file".equals(config.storageBackend)) {
+            try {
+                storage = new SharedFileStorage(FabricLoader.getInstance().getGameDir().resolve(config.sharedStorageDirectory));
+            } catch (IOException e) {
+                Proficiency.LOGGER.error("Failed to open shared proficiency storage, using playerdata only", e);
+            }
+        } else if (!"component".equals(config.storageBackend)) {
+            Proficiency.LOGGER.warn("Unknown proficiency storage backend '{}', using playerdata only", config.storageBackend);
+        }
+
+        if (storage.isExternal()) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Proficiency Storage");
+                thread.setDaemon(true);
+                return thread;
+            });
+            queue = new WriteBehindQueue(storage, executor,
+                    config.storageMaxDirtyPlayers, config.storageBatchSize, config.storageMaxPendingWrites);
+            Proficiency.LOGGER.info("Proficiency storage: {}", config.storageBackend);
+        }
+    }
+
+    private static void load(MinecraftServer server, ServerPlayerEntity player) {
+        if (!storage.isExternal()) return;
+
+        UUID id = player.getUuid();
+        ProficiencyStorage backend = storage;
+        LOADING.add(id);
+
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return backend.load(id);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor).whenCompleteAsync((data, error) -> onLoaded(server, id, data, error), server);
+    }
+
+    // Runs on the server thread once the stored copy has been read
+    private static void onLoaded(MinecraftServer server, UUID id, NbtCompound stored, Throwable error) {
+        LOADING.remove(id);
+
+        if (error != null) {
+            Proficiency.LOGGER.error("Failed to load stored proficiency for {}", id, error);
+            return;
+        }
+
+        ServerPlayerEntity player = server.getPlayerManager().getPlayer(id);
+        if (player == null || stored == null) return;
+
+        // Keep the local copy unless another server saved a newer one.
+        // Points earned in the moments before the load finished are replaced along with it
+        ProficiencyData data = ProficiencyComponents.getProficiency().get(player);
+        if (stored.getLong("savedAt") <= data.getSavedAt()) return;
+
+        data.readFromNbt(stored);
+        ProficiencyComponents.sync(player);
+        if (queue != null) queue.remove(id); // Same as the stored copy
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        if (queue == null || server.getTicks() % Math.max(1, ProficiencyConfig.get().storageFlushIntervalTicks) != 0) return;
+        queue.flushTimed(ProficiencyStorageManager::canWrite);
+    }
+
+    private static void onDisconnect(ServerPlayerEntity player) {
+        if (queue == null) return;
+
+        // Always written, so the store has this server's progress even if nothing changed this session
+        if (canWrite(player.getUuid())) {
+            queue.writeNow(player);
+        } else {
+            queue.remove(player.getUuid());
+        }
+    }
+
+    private static void drain(MinecraftServer server) {
+        if (queue == null) return;
+
+        queue.drain(server.getPlayerManager().getPlayerList(), ProficiencyStorageManager::canWrite);
+        Proficiency.LOGGER.info("Drained proficiency write queue, {} write(s) pending", queue.getPendingWrites());
+    }
+
+    // Writing before the stored copy is loaded could overwrite newer progress from another server
+    private static boolean canWrite(UUID id) {
+        return !LOADING.contains(id);
+    }
+
+    private static void close() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    Proficiency.LOGGER.warn("Timed out waiting for proficiency storage writes to finish");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+            queue = null;
+        }
+
+        try {
+            storage.close();
+        } catch (IOException e) {
+            Proficiency.LOGGER.error("Failed to close proficiency storage", e);
+        }
+        storage = ComponentStorage.INSTANCE;
+        LOADING.clear();
+    }
+}
@@ -0,0 +1,80 @@
+package proficiency.modid.storage;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stores each player's data as a compressed NBT file in a directory shared between servers, e.g. a network volume.
+ * Files are written to a temporary file first and moved into place, so other servers never read a partial file.
+ * Pointed at a local directory, it works as a stand-in for a shared store on a single machine.
+ */
+public final class SharedFileStorage implements ProficiencyStorage {
+
+    // Recently loaded or saved players kept in memory, so a rejoin doesn't re-read an unchanged file
+    private static final int CACHE_SIZE = 256;
+
+    private record CachedEntry(long modified, NbtCompound data) {}
+
+    private final Path directory;
+    private final Map<UUID, CachedEntry> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, CachedEntry> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    public SharedFileStorage(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    @Override
+    public boolean isExternal() {
+        return true;
+    }
+
+    @Override
+    @Nullable
+    public NbtCompound load(UUID playerId) throws IOException {
+        Path file = getFile(playerId);
+        if (!Files.exists(file)) return null;
+
+        // Another server may have written the file since it was cached
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        CachedEntry cached = cache.get(playerId);
+        if (cached != null && cached.modified() == modified) return cached.data();
+
+        NbtCompound data = NbtIo.readCompressed(file.toFile());
+        cache.put(playerId, new CachedEntry(modified, data));
+        return data;
+    }
+
+    @Override
+    public void save(UUID playerId, NbtCompound data) throws IOException {
+        Path file = getFile(playerId);
+        Path temp = directory.resolve(playerId + ".dat.tmp");
+
+        NbtIo.writeCompressed(data, temp.toFile());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        cache.put(playerId, new CachedEntry(Files.getLastModifiedTime(file).toMillis(), data));
+    }
+
+    @Override
+    public void close() {
+        cache.clear();
+    }
+
+    private Path getFile(UUID playerId) {
+        return directory.resolve(playerId + ".dat");
+    }
+}
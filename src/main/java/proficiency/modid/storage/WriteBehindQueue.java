@@ -0,0 +1,173 @@
+package proficiency.modid.storage;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.network.ServerPlayerEntity;
+import proficiency.modid.Proficiency;
+import proficiency.modid.component.ProficiencyComponents;
+import proficiency.modid.proficiency.ProficiencyData;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Coalesces proficiency changes between ProficiencyData and an external ProficiencyStorage.
+ * A player changed many times between flushes is only written once, with a snapshot taken at flush time.
+ *
+ * Dirty players are held in a bounded set, oldest first. Each flush snapshots up to a batch of them on the server
+ * thread and writes the whole batch in one storage thread task. Backpressure:
+ *  - While too many snapshots are waiting to be written, timed flushes are skipped and changes keep coalescing
+ *  - If the dirty set is full anyway, the oldest batch is flushed straight away rather than dropping changes
+ *
+ * Everything except the batch writes runs on the server thread.
+ */
+final class WriteBehindQueue {
+
+    private record Snapshot(UUID id, NbtCompound data) {}
+
+    private final ProficiencyStorage storage;
+    private final ExecutorService executor;
+    private final int maxDirty;
+    private final int batchSize;
+    private final int maxPendingWrites;
+
+    // Latest entity for each dirty player, the entity changes on respawn
+    private final Map<UUID, ServerPlayerEntity> dirty = new LinkedHashMap<>();
+
+    // Metrics, the atomics are updated from the storage thread
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private int peakDirty;
+    private long forcedFlushes;
+
+    WriteBehindQueue(ProficiencyStorage storage, ExecutorService executor, int maxDirty, int batchSize, int maxPendingWrites) {
+        this.storage = storage;
+        this.executor = executor;
+        this.maxDirty = Math.max(1, maxDirty);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPendingWrites = Math.max(1, maxPendingWrites);
+    }
+
+    void markDirty(ServerPlayerEntity player, Predicate<UUID> canWrite) {
+        dirty.put(player.getUuid(), player);
+
+        if (dirty.size() > maxDirty) {
+            forcedFlushes++;
+            flush(batchSize, canWrite);
+        }
+        peakDirty = Math.max(peakDirty, dirty.size());
+    }
+
+    /**
+     * Points a dirty player at their new entity after a respawn, so the flush reads the live component.
+     */
+    void replacePlayer(ServerPlayerEntity player) {
+        dirty.replace(player.getUuid(), player);
+    }
+
+    void remove(UUID id) {
+        dirty.remove(id);
+    }
+
+    /**
+     * Flushes the oldest batch of dirty players, unless the storage thread is already behind.
+     */
+    void flushTimed(Predicate<UUID> canWrite) {
+        if (dirty.isEmpty() || pendingWrites.get() >= maxPendingWrites) return;
+        flush(batchSize, canWrite);
+    }
+
+    /**
+     * Writes a single player straight away, e.g. when they disconnect.
+     */
+    void writeNow(ServerPlayerEntity player) {
+        dirty.remove(player.getUuid());
+        submit(List.of(snapshot(player)));
+    }
+
+    /**
+     * Writes the given players and everyone still dirty, ignoring batch and backpressure limits.
+     * Used when the server stops.
+     */
+    void drain(Iterable<ServerPlayerEntity> players, Predicate<UUID> canWrite) {
+        for (ServerPlayerEntity player : players) {
+            dirty.put(player.getUuid(), player);
+        }
+        flush(Integer.MAX_VALUE, canWrite);
+    }
+
+    private void flush(int limit, Predicate<UUID> canWrite) {
+        List<Snapshot> batch = new ArrayList<>(Math.min(limit, dirty.size()));
+
+        Iterator<Map.Entry<UUID, ServerPlayerEntity>> iterator = dirty.entrySet().iterator();
+        while (iterator.hasNext() && batch.size() < limit) {
+            Map.Entry<UUID, ServerPlayerEntity> entry = iterator.next();
+            if (!canWrite.test(entry.getKey())) continue; // Stays dirty until it can be written
+
+            iterator.remove();
+            if (!entry.getValue().isDisconnected()) {
+                batch.add(snapshot(entry.getValue()));
+            }
+        }
+
+        if (!batch.isEmpty()) submit(batch);
+    }
+
+    private static Snapshot snapshot(ServerPlayerEntity player) {
+        ProficiencyData data = ProficiencyComponents.getProficiency().get(player);
+        data.setSavedAt(System.currentTimeMillis());
+        NbtCompound nbt = new NbtCompound();
+        data.writeToNbt(nbt);
+        return new Snapshot(player.getUuid(), nbt);
+    }
+
+    private void submit(List<Snapshot> batch) {
+        pendingWrites.addAndGet(batch.size());
+        executor.execute(() -> {
+            for (Snapshot snapshot : batch) {
+                try {
+                    storage.save(snapshot.id(), snapshot.data());
+                    written.incrementAndGet();
+                } catch (IOException e) {
+                    failed.incrementAndGet();
+                    Proficiency.LOGGER.error("Failed to save proficiency for {}", snapshot.id(), e);
+                } finally {
+                    pendingWrites.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    int getDirtyCount() {
+        return dirty.size();
+    }
+
+    int getPeakDirty() {
+        return peakDirty;
+    }
+
+    int getPendingWrites() {
+        return pendingWrites.get();
+    }
+
+    long getWritten() {
+        return written.get();
+    }
+
+    long getFailed() {
+        return failed.get();
+    }
+
+    long getForcedFlushes() {
+        return forcedFlushes;
+    }
+}
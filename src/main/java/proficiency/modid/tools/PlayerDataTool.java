@@ -0,0 +1,414 @@
+package proficiency.modid.tools;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.nbt.scanner.NbtScanQuery;
+import net.minecraft.nbt.scanner.SelectiveNbtCollector;
+import proficiency.modid.proficiency.ItemIdAllocator;
+import proficiency.modid.proficiency.ProficiencyData;
+import proficiency.modid.proficiency.ProficiencyLevel;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Offline tool for a world's playerdata, for audits and schema upgrades while the server is stopped.
+ * Files are processed in parallel on a fork-join pool. Reading stops as soon as the proficiency component
+ * (and, when migrating, the inventories) has been read, so the rest of each player file is never decoded.
+ *
+ * Run with: ./gradlew playerDataTool -PtoolArgs="stats world=path/to/world threads=8"
+ * or from the mod jar with Minecraft on the classpath: java -cp ... proficiency.modid.tools.PlayerDataTool stats world=...
+ *
+ * Modes:
+ *  - stats: players, points and level distribution per category, and item history sizes
+ *  - migrate: brings every file up to the current layout, the same changes the mod makes lazily in game:
+ *    item entries and stacks still keyed by a legacy UUID get a tracking id, and legacy "previousLevels" are dropped.
+ *    Ids are reserved in the world's ItemIdAllocator file before any player file is changed, so an interrupted
+ *    run can be repeated. Add dry-run=true to only report what would change.
+ */
+public final class PlayerDataTool {
+
+    // Where Cardinal Components stores the proficiency component in a player file
+    private static final NbtScanQuery COMPONENT = new NbtScanQuery("cardinal_components", NbtCompound.TYPE, "proficiency:proficiency");
+    private static final NbtScanQuery INVENTORY = new NbtScanQuery(NbtList.TYPE, "Inventory");
+    private static final NbtScanQuery ENDER_ITEMS = new NbtScanQuery(NbtList.TYPE, "EnderItems");
+
+    // Written to a new allocator file, 1.20.1's save version
+    private static final int DATA_VERSION = 3465;
+
+    private final Path world;
+    private final ForkJoinPool pool;
+    private final boolean dryRun;
+
+    private PlayerDataTool(Path world, int threads, boolean dryRun) {
+        this.world = world;
+        this.pool = new ForkJoinPool(threads);
+        this.dryRun = dryRun;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Usage: PlayerDataTool <stats|migrate> world=<world directory> [threads=N] [dry-run=true]");
+            return;
+        }
+
+        Path world = Path.of("world");
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean dryRun = false;
+
+        for (int i = 1; i < args.length; i++) {
+            String[] parts = args[i].split("=", 2);
+            if (parts.length != 2) throw new IllegalArgumentException("Expected key=value, got " + args[i]);
+
+            switch (parts[0]) {
+                case "world" -> world = Path.of(parts[1]);
+                case "threads" -> threads = Integer.parseInt(parts[1]);
+                case "dry-run" -> dryRun = Boolean.parseBoolean(parts[1]);
+                default -> throw new IllegalArgumentException("Unknown argument " + parts[0]);
+            }
+        }
+
+        PlayerDataTool tool = new PlayerDataTool(world, Math.max(1, threads), dryRun);
+        switch (args[0]) {
+            case "stats" -> tool.stats();
+            case "migrate" -> tool.migrate();
+            default -> throw new IllegalArgumentException("Unknown mode " + args[0]);
+        }
+    }
+
+    private List<Path> listPlayerFiles() throws IOException {
+        Path playerdata = world.resolve("playerdata");
+        if (!Files.isDirectory(playerdata)) throw new IOException("No playerdata directory in " + world.toAbsolutePath());
+
+        try (Stream<Path> files = Files.list(playerdata)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".dat")).toList();
+        }
+    }
+
+    /**
+     * Reads only the requested tags of a compressed player file, stopping once they've all been found.
+     */
+    private static NbtCompound scan(Path file, NbtScanQuery... queries) {
+        SelectiveNbtCollector collector = new SelectiveNbtCollector(queries);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            NbtIo.scanCompressed(in, collector);
+        } catch (IOException e) {
+            throw new UncheckedIOException(file.getFileName().toString(), e);
+        }
+        return collector.getRoot() instanceof NbtCompound root ? root : new NbtCompound();
+    }
+
+    private static NbtCompound getComponent(NbtCompound root) {
+        return root.getCompound("cardinal_components").getCompound("proficiency:proficiency");
+    }
+
+    // Stats
+
+    /**
+     * Totals for one category, merged across threads.
+     */
+    private static final class CategoryStats {
+        long players;
+        long points;
+        final long[] levels = new long[ProficiencyLevel.values().length];
+
+        void merge(CategoryStats other) {
+            players += other.players;
+            points += other.points;
+            for (int i = 0; i < levels.length; i++) {
+                levels[i] += other.levels[i];
+            }
+        }
+    }
+
+    /**
+     * Totals for a set of files. Each fork-join task fills its own, and they're merged at the end.
+     */
+    private static final class Stats {
+        long files;
+        long withProficiency;
+        long failed;
+        long itemEntries;
+        long legacyItemEntries;
+        long maxItemEntries;
+        final Map<String, CategoryStats> categories = new TreeMap<>();
+
+        void add(Path file) {
+            files++;
+            NbtCompound component;
+            try {
+                component = getComponent(scan(file, COMPONENT));
+            } catch (UncheckedIOException e) {
+                failed++;
+                System.err.println("Failed to read " + e.getMessage() + ": " + e.getCause());
+                return;
+            }
+            if (component.isEmpty()) return;
+            withProficiency++;
+
+            NbtCompound types = component.getCompound("types");
+            for (String category : types.getKeys()) {
+                ProficiencyData.Progress progress = ProficiencyData.Progress.fromNbt(types.getCompound(category));
+                CategoryStats stats = categories.computeIfAbsent(category, key -> new CategoryStats());
+                stats.players++;
+                stats.points += progress.points;
+                stats.levels[progress.level.ordinal()]++;
+            }
+
+            NbtCompound items = component.getCompound("items");
+            itemEntries += items.getSize();
+            maxItemEntries = Math.max(maxItemEntries, items.getSize());
+            for (String key : items.getKeys()) {
+                if (parseLegacyKey(key) != null) legacyItemEntries++;
+            }
+        }
+
+        void merge(Stats other) {
+            files += other.files;
+            withProficiency += other.withProficiency;
+            failed += other.failed;
+            itemEntries += other.itemEntries;
+            legacyItemEntries += other.legacyItemEntries;
+            maxItemEntries = Math.max(maxItemEntries, other.maxItemEntries);
+            other.categories.forEach((category, stats) ->
+                    categories.computeIfAbsent(category, key -> new CategoryStats()).merge(stats));
+        }
+    }
+
+    private void stats() throws Exception {
+        List<Path> files = listPlayerFiles();
+        long start = System.nanoTime();
+
+        Stats stats = pool.submit(() -> files.parallelStream().collect(Stats::new, Stats::add, Stats::merge)).get();
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("Scanned %d player files in %.2fs (%.0f files/s), %d with proficiency, %d failed%n",
+                stats.files, seconds, stats.files / Math.max(seconds, 1e-9), stats.withProficiency, stats.failed);
+        System.out.printf("Item entries: %d total, %.1f per player, %d max, %d still keyed by legacy UUID%n",
+                stats.itemEntries, stats.itemEntries / (double) Math.max(1, stats.withProficiency),
+                stats.maxItemEntries, stats.legacyItemEntries);
+
+        System.out.println();
+        StringBuilder header = new StringBuilder("category     | players | avg points");
+        for (ProficiencyLevel level : ProficiencyLevel.values()) {
+            header.append(" | ").append(level.name().toLowerCase());
+        }
+        System.out.println(header);
+
+        stats.categories.forEach((category, categoryStats) -> {
+            StringBuilder row = new StringBuilder(String.format("%-12s | %7d | %10.0f", category, categoryStats.players,
+                    categoryStats.points / (double) Math.max(1, categoryStats.players)));
+            ProficiencyLevel[] levels = ProficiencyLevel.values();
+            for (int i = 0; i < levels.length; i++) {
+                row.append(String.format(" | %" + levels[i].name().length() + "d", categoryStats.levels[i]));
+            }
+            System.out.println(row);
+        });
+    }
+
+    // Migration
+
+    private void migrate() throws Exception {
+        List<Path> files = listPlayerFiles();
+        long start = System.nanoTime();
+
+        // Pass 1: find files that need changing, and every legacy UUID they use
+        Set<UUID> legacyIds = ConcurrentHashMap.newKeySet();
+        List<Path> changed = pool.submit(() -> files.parallelStream()
+                .filter(file -> needsMigration(scan(file, COMPONENT, INVENTORY, ENDER_ITEMS), legacyIds))
+                .toList()).get();
+
+        // Reserve ids before touching any player file
+        Map<UUID, Long> ids = reserveIds(legacyIds);
+        System.out.printf("%d of %d player files need migrating, %d legacy item UUIDs%n",
+                changed.size(), files.size(), legacyIds.size());
+        if (dryRun) {
+            System.out.println("Dry run, nothing written");
+            return;
+        }
+
+        // Pass 2: rewrite the files that need it
+        AtomicLong failed = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        pool.submit(() -> changed.parallelStream().forEach(file -> {
+            // Each file is handled on its own, so one bad file never stops the rest
+            try {
+                if (!rewrite(file, ids)) {
+                    skipped.incrementAndGet();
+                    System.err.println("Skipped " + file.getFileName() + ", it changed since it was scanned");
+                }
+            } catch (IOException | RuntimeException e) {
+                failed.incrementAndGet();
+                System.err.println("Failed to migrate " + file.getFileName() + ": " + e);
+            }
+        })).get();
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("Migrated %d player files in %.2fs, %d skipped, %d failed%n",
+                changed.size() - skipped.get() - failed.get(), seconds, skipped.get(), failed.get());
+        if (skipped.get() > 0) System.out.println("Run migrate again to pick up the skipped files");
+    }
+
+    private static boolean needsMigration(NbtCompound root, Set<UUID> legacyIds) {
+        NbtCompound component = getComponent(root);
+        boolean needed = component.contains("previousLevels");
+
+        for (String key : component.getCompound("items").getKeys()) {
+            UUID legacyId = parseLegacyKey(key);
+            if (legacyId != null) {
+                legacyIds.add(legacyId);
+                needed = true;
+            }
+        }
+
+        needed |= collectLegacyStacks(root.getList("Inventory", NbtElement.COMPOUND_TYPE), legacyIds);
+        needed |= collectLegacyStacks(root.getList("EnderItems", NbtElement.COMPOUND_TYPE), legacyIds);
+        return needed;
+    }
+
+    private static boolean collectLegacyStacks(NbtList stacks, Set<UUID> legacyIds) {
+        boolean found = false;
+        for (int i = 0; i < stacks.size(); i++) {
+            NbtCompound tag = stacks.getCompound(i).getCompound("tag");
+            if (tag.containsUuid(ProficiencyData.LEGACY_ITEM_UUID_KEY)) {
+                legacyIds.add(tag.getUuid(ProficiencyData.LEGACY_ITEM_UUID_KEY));
+                found = true;
+            }
+            // Items inside shulker boxes and other containers
+            found |= collectLegacyStacks(tag.getCompound("BlockEntityTag").getList("Items", NbtElement.COMPOUND_TYPE), legacyIds);
+        }
+        return found;
+    }
+
+    /**
+     * Gives each legacy UUID a tracking id, using the same allocator file the mod uses in game so ids stay unique
+     * and match any stacks the mod has already migrated. The file is saved before returning.
+     */
+    private Map<UUID, Long> reserveIds(Set<UUID> legacyIds) throws IOException {
+        Path file = world.resolve("data").resolve(ItemIdAllocator.NAME + ".dat");
+        NbtCompound root = Files.exists(file) ? NbtIo.readCompressed(file.toFile()) : new NbtCompound();
+        NbtCompound data = root.getCompound("data");
+        NbtCompound legacy = data.getCompound("legacy");
+        long lastId = data.getLong("lastId");
+        long salt = data.contains("salt") ? data.getLong("salt") : ItemIdAllocator.newSalt();
+
+        Map<UUID, Long> ids = new ConcurrentHashMap<>();
+        for (UUID legacyId : legacyIds) {
+            String key = legacyId.toString();
+            long id = legacy.contains(key) ? legacy.getLong(key) : ItemIdAllocator.toId(salt, ++lastId);
+            legacy.putLong(key, id);
+            ids.put(legacyId, id);
+        }
+
+        if (dryRun) return ids;
+
+        data.putLong("salt", salt);
+        data.putLong("lastId", lastId);
+        data.put("legacy", legacy);
+        root.put("data", data);
+        if (!root.contains("DataVersion")) root.putInt("DataVersion", DATA_VERSION);
+
+        Files.createDirectories(file.getParent());
+        writeAtomically(root, file);
+        return ids;
+    }
+
+    /**
+     * Rewrites a file to the current layout.
+     * @return false if the file was left alone, as it uses a legacy UUID that wasn't reserved in the first pass
+     */
+    private static boolean rewrite(Path file, Map<UUID, Long> ids) throws IOException {
+        NbtCompound root = NbtIo.readCompressed(file.toFile());
+
+        // A file saved by a running server between the two passes can have UUIDs that have no id yet
+        Set<UUID> fileIds = new HashSet<>();
+        needsMigration(root, fileIds);
+        if (!ids.keySet().containsAll(fileIds)) return false;
+
+        NbtCompound component = getComponent(root);
+        component.remove("previousLevels");
+
+        NbtCompound items = component.getCompound("items");
+        if (!items.isEmpty()) {
+            NbtCompound rekeyed = new NbtCompound();
+            for (String key : items.getKeys()) {
+                UUID legacyId = parseLegacyKey(key);
+                String newKey = legacyId != null ? Long.toString(ids.get(legacyId)) : key;
+
+                // The mod may already have migrated some of the item's progress under its new id
+                NbtCompound existing = rekeyed.getCompound(newKey);
+                rekeyed.put(newKey, existing.isEmpty() ? items.getCompound(key) : mergeEntries(existing, items.getCompound(key)));
+            }
+            component.put("items", rekeyed);
+        }
+
+        migrateStacks(root.getList("Inventory", NbtElement.COMPOUND_TYPE), ids);
+        migrateStacks(root.getList("EnderItems", NbtElement.COMPOUND_TYPE), ids);
+
+        writeAtomically(root, file);
+        return true;
+    }
+
+    /**
+     * Combines two saved entries for the same item. Points are added, the level and times keep the higher value,
+     * and the level is recalculated from the points the next time the item earns points in game.
+     */
+    private static NbtCompound mergeEntries(NbtCompound first, NbtCompound second) {
+        ProficiencyData.Progress merged = ProficiencyData.Progress.fromNbt(first);
+        ProficiencyData.Progress other = ProficiencyData.Progress.fromNbt(second);
+
+        merged.points += other.points;
+        if (other.level.ordinal() > merged.level.ordinal()) merged.level = other.level;
+        merged.notifiedLevel = (byte) Math.max(merged.notifiedLevel, other.notifiedLevel);
+        merged.lastUsed = Math.max(merged.lastUsed, other.lastUsed);
+        merged.decayedTo = Math.max(merged.decayedTo, other.decayedTo);
+        if (merged.category == null) merged.category = other.category;
+        return merged.toNbt();
+    }
+
+    private static void migrateStacks(NbtList stacks, Map<UUID, Long> ids) {
+        for (int i = 0; i < stacks.size(); i++) {
+            NbtCompound tag = stacks.getCompound(i).getCompound("tag");
+            if (tag.containsUuid(ProficiencyData.LEGACY_ITEM_UUID_KEY)) {
+                long id = ids.get(tag.getUuid(ProficiencyData.LEGACY_ITEM_UUID_KEY));
+                tag.remove(ProficiencyData.LEGACY_ITEM_UUID_KEY);
+                tag.putLong(ProficiencyData.ITEM_ID_KEY, id);
+            }
+            migrateStacks(tag.getCompound("BlockEntityTag").getList("Items", NbtElement.COMPOUND_TYPE), ids);
+        }
+    }
+
+    // Writes to a temporary file and moves it into place, so a crash never leaves a partial file
+    private static void writeAtomically(NbtCompound root, Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        NbtIo.writeCompressed(root, temp.toFile());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Item entries saved before tracking ids are keyed by UUID, tracking ids are much shorter
+    private static UUID parseLegacyKey(String key) {
+        if (key.length() != 36) return null;
+        try {
+            return UUID.fromString(key);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}